@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Local caches of serialized DTOs, bounded by their size in bytes and evicting the least recently used entries.
+ * They are registered in a cache manager so that their hit and miss statistics are exposed as metrics.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    public static final String SPREADSHEET_CONFIGS_CACHE = "spreadsheetConfigs";
+    public static final String SPREADSHEET_CONFIG_COLLECTIONS_CACHE = "spreadsheetConfigCollections";
+
+    @Bean
+    public CaffeineCacheManager cacheManager(@Value("${study-config.cache.max-size:32MB}") DataSize maxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(SPREADSHEET_CONFIGS_CACHE, buildCache(maxSize));
+        cacheManager.registerCustomCache(SPREADSHEET_CONFIG_COLLECTIONS_CACHE, buildCache(maxSize));
+        return cacheManager;
+    }
+
+    private static Cache<Object, Object> buildCache(DataSize maxSize) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Object key, Object value) -> ((byte[]) value).length)
+                .recordStats()
+                .build();
+    }
+}
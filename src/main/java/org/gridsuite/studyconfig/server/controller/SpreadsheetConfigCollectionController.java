@@ -12,6 +12,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.gridsuite.studyconfig.server.StudyConfigApi;
@@ -19,9 +20,13 @@ import org.gridsuite.studyconfig.server.dto.SpreadsheetConfigCollectionInfos;
 import org.gridsuite.studyconfig.server.dto.SpreadsheetConfigInfos;
 import org.gridsuite.studyconfig.server.service.SpreadsheetConfigService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -69,6 +74,32 @@ public class SpreadsheetConfigCollectionController {
         return ResponseEntity.ok(spreadsheetConfigService.getSpreadsheetConfigCollection(id));
     }
 
+    @GetMapping(value = "/{id}/export", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Export a spreadsheet configuration collection",
+            description = "Writes the collection and all its configurations in a compact binary format")
+    @ApiResponse(responseCode = "200", description = "Configuration collection exported")
+    @ApiResponse(responseCode = "404", description = "Configuration collection not found")
+    public void exportSpreadsheetConfigCollection(
+            @Parameter(description = "ID of the configuration collection to export") @PathVariable UUID id,
+            @Parameter(description = "Whether the content is deflated") @RequestParam(defaultValue = "true") boolean compress,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        spreadsheetConfigService.exportSpreadsheetConfigCollection(id, outputStream, compress);
+        outputStream.flush();
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Import a spreadsheet configuration collection",
+            description = "Creates a new spreadsheet configuration collection from an export and returns its ID")
+    @ApiResponse(responseCode = "201", description = "Configuration collection created",
+            content = @Content(schema = @Schema(implementation = UUID.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid export")
+    public ResponseEntity<UUID> importSpreadsheetConfigCollection(InputStream inputStream) {
+        UUID id = spreadsheetConfigService.importSpreadsheetConfigCollection(inputStream);
+        return ResponseEntity.status(HttpStatus.CREATED).body(id);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a spreadsheet configuration collection",
             description = "Deletes an existing spreadsheet configuration collection")
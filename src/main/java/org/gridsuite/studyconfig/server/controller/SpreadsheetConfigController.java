@@ -6,21 +6,32 @@
  */
 package org.gridsuite.studyconfig.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.gridsuite.studyconfig.server.StudyConfigApi;
 import org.gridsuite.studyconfig.server.dto.*;
 import org.gridsuite.studyconfig.server.service.SpreadsheetConfigService;
+import org.gridsuite.studyconfig.server.service.VersionedSpreadsheetConfig;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,6 +47,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 public class SpreadsheetConfigController {
 
     private final SpreadsheetConfigService spreadsheetConfigService;
+    private final ObjectMapper objectMapper;
 
     public static final String DUPLICATE_FROM = "duplicateFrom";
 
@@ -65,10 +77,47 @@ public class SpreadsheetConfigController {
             description = "Retrieves a spreadsheet configuration by its ID")
     @ApiResponse(responseCode = "200", description = "Configuration found",
             content = @Content(schema = @Schema(implementation = SpreadsheetConfigInfos.class)))
+    @ApiResponse(responseCode = "304", description = "Configuration not modified since the version given in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Configuration not found")
     public ResponseEntity<SpreadsheetConfigInfos> getSpreadsheetConfig(
-            @Parameter(description = "ID of the configuration to retrieve") @PathVariable UUID id) {
-        return ResponseEntity.ok(spreadsheetConfigService.getSpreadsheetConfig(id));
+            @Parameter(description = "ID of the configuration to retrieve") @PathVariable UUID id,
+            WebRequest request) {
+        VersionedSpreadsheetConfig config = spreadsheetConfigService.getVersionedSpreadsheetConfig(id);
+        String eTag = toETag(config.version());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(config.config());
+    }
+
+    @GetMapping
+    @Operation(summary = "Get a page of spreadsheet configurations",
+            description = "Retrieves spreadsheet configurations ordered by ID, starting right after the given ID")
+    @ApiResponse(responseCode = "200", description = "Page of configurations",
+            content = @Content(schema = @Schema(implementation = SpreadsheetConfigPageInfos.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid page size")
+    public ResponseEntity<SpreadsheetConfigPageInfos> getSpreadsheetConfigsPage(
+            @Parameter(description = "ID after which the page starts, taken from the nextAfterId of the previous page") @RequestParam(required = false) UUID afterId,
+            @Parameter(description = "Maximum number of configurations in the page") @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(spreadsheetConfigService.getSpreadsheetConfigsPage(afterId, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all spreadsheet configurations",
+            description = "Writes every spreadsheet configuration as one JSON document per line, ordered by ID")
+    @ApiResponse(responseCode = "200", description = "Configurations streamed")
+    public void streamSpreadsheetConfigs(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        spreadsheetConfigService.streamSpreadsheetConfigs(config -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(config));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        outputStream.flush();
     }
 
     @GetMapping("/metadata")
@@ -76,8 +125,11 @@ public class SpreadsheetConfigController {
             description = "Retrieves metadata of spreadsheet configurations by their IDs")
     @ApiResponse(responseCode = "200", description = "Metadata found",
             content = @Content(schema = @Schema(implementation = MetadataInfos.class)))
-    public ResponseEntity<List<MetadataInfos>> getSpreadsheetConfigsMetadata(@RequestParam List<UUID> ids) {
-        return ResponseEntity.ok(spreadsheetConfigService.getSpreadsheetConfigsMetadata(ids));
+    public ResponseEntity<List<MetadataInfos>> getSpreadsheetConfigsMetadata(
+            @Parameter(description = "IDs of the configurations") @RequestParam List<UUID> ids,
+            @Parameter(description = "Whether the column count, global filter count and last modification date are computed")
+            @RequestParam(defaultValue = "false") boolean includeAggregates) {
+        return ResponseEntity.ok(spreadsheetConfigService.getSpreadsheetConfigsMetadata(ids, includeAggregates));
     }
 
     @PutMapping("/{id}")
@@ -85,10 +137,13 @@ public class SpreadsheetConfigController {
             description = "Updates an existing spreadsheet configuration")
     @ApiResponse(responseCode = "204", description = "Configuration updated")
     @ApiResponse(responseCode = "404", description = "Configuration not found")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> updateSpreadsheetConfig(
             @Parameter(description = "ID of the configuration to update") @PathVariable UUID id,
-            @Valid @RequestBody SpreadsheetConfigInfos dto) {
-        spreadsheetConfigService.updateSpreadsheetConfig(id, dto);
+            @Valid @RequestBody SpreadsheetConfigInfos dto,
+            @Parameter(description = "ETag of the configuration version the modification is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.updateSpreadsheetConfig(id, dto, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -97,10 +152,13 @@ public class SpreadsheetConfigController {
             description = "Updates an existing spreadsheet configuration")
     @ApiResponse(responseCode = "204", description = "Configuration updated")
     @ApiResponse(responseCode = "404", description = "Configuration not found")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> updateSpreadsheetConfigSort(
             @Parameter(description = "ID of the configuration to update") @PathVariable UUID id,
-            @Valid @RequestBody SortConfig dto) {
-        spreadsheetConfigService.updateSpreadsheetConfigSort(id, dto);
+            @Valid @RequestBody SortConfig dto,
+            @Parameter(description = "ETag of the configuration version the modification is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.updateSpreadsheetConfigSort(id, dto, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -109,10 +167,13 @@ public class SpreadsheetConfigController {
             description = "Updates the name of an existing spreadsheet configuration")
     @ApiResponse(responseCode = "204", description = "Configuration renamed")
     @ApiResponse(responseCode = "404", description = "Configuration not found")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> renameSpreadsheetConfig(
             @Parameter(description = "ID of the configuration to rename") @PathVariable UUID id,
-            @Parameter(description = "New name for the configuration") @RequestBody String name) {
-        spreadsheetConfigService.renameSpreadsheetConfig(id, name);
+            @Parameter(description = "New name for the configuration") @RequestBody String name,
+            @Parameter(description = "ETag of the configuration version the modification is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.renameSpreadsheetConfig(id, name, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -121,9 +182,12 @@ public class SpreadsheetConfigController {
             description = "Deletes an existing spreadsheet configuration")
     @ApiResponse(responseCode = "204", description = "Configuration deleted")
     @ApiResponse(responseCode = "404", description = "Configuration not found")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> deleteSpreadsheetConfig(
-            @Parameter(description = "ID of the configuration to delete") @PathVariable UUID id) {
-        spreadsheetConfigService.deleteSpreadsheetConfig(id);
+            @Parameter(description = "ID of the configuration to delete") @PathVariable UUID id,
+            @Parameter(description = "ETag of the configuration version the modification is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.deleteSpreadsheetConfig(id, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -137,24 +201,41 @@ public class SpreadsheetConfigController {
         return ResponseEntity.ok(spreadsheetConfigService.getColumn(id, columnId));
     }
 
+    @GetMapping("/{id}/formula-graph")
+    @Operation(summary = "Get the formula graph",
+            description = "Retrieves the column dependencies of a spreadsheet configuration and the order in which its columns can be evaluated")
+    @ApiResponse(responseCode = "200", description = "Formula graph found",
+            content = @Content(schema = @Schema(implementation = FormulaGraphInfos.class)))
+    @ApiResponse(responseCode = "404", description = "Configuration not found")
+    public ResponseEntity<FormulaGraphInfos> getFormulaGraph(
+            @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id) {
+        return ResponseEntity.ok(spreadsheetConfigService.getFormulaGraph(id));
+    }
+
     @PostMapping("/{id}/columns")
     @Operation(summary = "Create a column", description = "Creates a new column")
     @ApiResponse(responseCode = "201", description = "Column created")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<UUID> createColumn(
                     @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id,
-                    @Valid @RequestBody SpreadsheetColumnInfos dto) {
-        UUID columnId = spreadsheetConfigService.createColumn(id, dto);
+                    @Valid @RequestBody SpreadsheetColumnInfos dto,
+                    @Parameter(description = "ETag of the configuration version the modification is based on")
+                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UUID columnId = spreadsheetConfigService.createColumn(id, dto, expectedVersion(ifMatch));
         return ResponseEntity.status(HttpStatus.CREATED).body(columnId);
     }
 
     @PutMapping("/{id}/columns/{columnId}")
     @Operation(summary = "Update a column", description = "Updates an existing column")
     @ApiResponse(responseCode = "204", description = "Column updated")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> updateColumn(
                     @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id,
                     @Parameter(description = "ID of the column to update") @PathVariable UUID columnId,
-                    @Valid @RequestBody SpreadsheetColumnInfos dto) {
-        spreadsheetConfigService.updateColumn(id, columnId, dto);
+                    @Valid @RequestBody SpreadsheetColumnInfos dto,
+                    @Parameter(description = "ETag of the configuration version the modification is based on")
+                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.updateColumn(id, columnId, dto, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -162,10 +243,13 @@ public class SpreadsheetConfigController {
     @Operation(summary = "Delete a column", description = "Deletes an existing column")
     @ApiResponse(responseCode = "204", description = "Column deleted")
     @ApiResponse(responseCode = "404", description = "Column not found")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> deleteColumn(
                     @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id,
-                    @Parameter(description = "ID of the column to delete") @PathVariable UUID columnId) {
-        spreadsheetConfigService.deleteColumn(id, columnId);
+                    @Parameter(description = "ID of the column to delete") @PathVariable UUID columnId,
+                    @Parameter(description = "ETag of the configuration version the modification is based on")
+                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.deleteColumn(id, columnId, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -173,20 +257,42 @@ public class SpreadsheetConfigController {
     @Operation(summary = "Duplicate a column", description = "Duplicate a column and place it after the source column")
     @ApiResponse(responseCode = "204", description = "Column duplicated")
     @ApiResponse(responseCode = "404", description = "Column not found")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> duplicateColumn(
             @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id,
-            @Parameter(description = "ID of the column to duplicate") @PathVariable UUID columnId) {
-        spreadsheetConfigService.duplicateColumn(id, columnId);
+            @Parameter(description = "ID of the column to duplicate") @PathVariable UUID columnId,
+            @Parameter(description = "ETag of the configuration version the modification is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.duplicateColumn(id, columnId, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    @PatchMapping("/{id}/columns")
+    @Operation(summary = "Apply column operations",
+            description = "Applies a list of column operations (add, update, delete, duplicate, move, visibility) in order and in a single transaction")
+    @ApiResponse(responseCode = "200", description = "Operations applied, returns the UUID of the column produced or affected by each operation")
+    @ApiResponse(responseCode = "400", description = "Invalid operation")
+    @ApiResponse(responseCode = "404", description = "Spreadsheet configuration or column not found")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
+    public ResponseEntity<List<UUID>> applyColumnOperations(
+            @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id,
+            @Parameter(description = "Operations to apply, in order")
+            @Valid @RequestBody List<ColumnOperationInfos> operations,
+            @Parameter(description = "ETag of the configuration version the modification is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ResponseEntity.ok(spreadsheetConfigService.applyColumnOperations(id, operations, expectedVersion(ifMatch)));
+    }
+
     @PutMapping("/{id}/columns/reorder")
     @Operation(summary = "Reorder columns", description = "Reorders the columns of a spreadsheet configuration")
     @ApiResponse(responseCode = "204", description = "Columns reordered")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> reorderColumns(
                     @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id,
-                    @Parameter(description = "New order of column IDs") @RequestBody List<UUID> columnOrder) {
-        spreadsheetConfigService.reorderColumns(id, columnOrder);
+                    @Parameter(description = "New order of column IDs") @RequestBody List<UUID> columnOrder,
+                    @Parameter(description = "ETag of the configuration version the modification is based on")
+                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.reorderColumns(id, columnOrder, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -196,11 +302,14 @@ public class SpreadsheetConfigController {
     @ApiResponse(responseCode = "204", description = "Column states updated successfully")
     @ApiResponse(responseCode = "404", description = "Spreadsheet configuration not found")
     @ApiResponse(responseCode = "400", description = "Invalid column state data")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> updateColumnStates(
             @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id,
             @Parameter(description = "List of column state updates")
-            @Valid @RequestBody List<ColumnStateUpdateInfos> columnStates) {
-        spreadsheetConfigService.updateColumnStates(id, columnStates);
+            @Valid @RequestBody List<ColumnStateUpdateInfos> columnStates,
+            @Parameter(description = "ETag of the configuration version the modification is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.updateColumnStates(id, columnStates, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -209,10 +318,13 @@ public class SpreadsheetConfigController {
             description = "Replaces all existing global filters with the provided list for a spreadsheet configuration")
     @ApiResponse(responseCode = "204", description = "Global filters set successfully")
     @ApiResponse(responseCode = "404", description = "Spreadsheet configuration not found")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> setGlobalFiltersForSpreadsheetConfig(
             @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id,
-            @Valid @RequestBody List<GlobalFilterInfos> filters) {
-        spreadsheetConfigService.setGlobalFiltersForSpreadsheetConfig(id, filters);
+            @Valid @RequestBody List<GlobalFilterInfos> filters,
+            @Parameter(description = "ETag of the configuration version the modification is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.setGlobalFiltersForSpreadsheetConfig(id, filters, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -221,10 +333,39 @@ public class SpreadsheetConfigController {
             description = "Reset all columns filters in a spreadsheet configuration as well as the global filter")
     @ApiResponse(responseCode = "204", description = "Filters reset successfully")
     @ApiResponse(responseCode = "404", description = "Spreadsheet configuration not found")
+    @ApiResponse(responseCode = "412", description = "Configuration modified since the version given in If-Match")
     public ResponseEntity<Void> resetFilters(
-            @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id) {
-        spreadsheetConfigService.resetSpreadsheetConfigFilters(id);
+            @Parameter(description = "ID of the spreadsheet config") @PathVariable UUID id,
+            @Parameter(description = "ETag of the configuration version the modification is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        spreadsheetConfigService.resetSpreadsheetConfigFilters(id, expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    private static String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Version expected by an If-Match header, null when there is no header or a wildcard one.
+     * Only a single strong ETag can match a version, any other value fails the precondition.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<ETag> eTags = ETag.parse(ifMatch);
+        if (eTags.size() == 1 && eTags.getFirst().isWildcard()) {
+            return null;
+        }
+        if (eTags.size() == 1 && !eTags.getFirst().weak()) {
+            try {
+                return Long.valueOf(eTags.getFirst().tag());
+            } catch (NumberFormatException e) {
+                // not one of our ETags
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match any configuration version: " + ifMatch);
+    }
+
 }
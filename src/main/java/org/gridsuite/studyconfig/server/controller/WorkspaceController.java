@@ -15,7 +15,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.gridsuite.studyconfig.server.StudyConfigApi;
 import org.gridsuite.studyconfig.server.dto.workspace.WorkspaceInfos;
-import org.gridsuite.studyconfig.server.entities.workspace.WorkspaceEntity;
 import org.gridsuite.studyconfig.server.service.WorkspaceService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -46,7 +45,6 @@ public class WorkspaceController {
             @Parameter(description = "ID of the workspace to retrieve") @PathVariable UUID workspaceId) {
         return ResponseEntity.ok(
             workspaceService.getWorkspace(workspaceId)
-                .map(WorkspaceEntity::toDto)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
                     HttpStatus.NOT_FOUND, "Workspace not found: " + workspaceId))
         );
@@ -15,7 +15,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.gridsuite.studyconfig.server.StudyConfigApi;
+import org.gridsuite.studyconfig.server.dto.workspace.PanelGeometryInfos;
 import org.gridsuite.studyconfig.server.dto.workspace.PanelInfos;
+import org.gridsuite.studyconfig.server.dto.workspace.PanelLayoutInfos;
 import org.gridsuite.studyconfig.server.dto.workspace.WorkspaceInfos;
 import org.gridsuite.studyconfig.server.dto.workspace.WorkspaceMetadata;
 import org.gridsuite.studyconfig.server.service.WorkspacesConfigService;
@@ -130,6 +132,60 @@ public class WorkspacesConfigController {
         return ResponseEntity.ok(panelIds);
     }
 
+    @PutMapping("/{id}/workspaces/{workspaceId}/panels/geometry")
+    @Operation(summary = "Update the geometry of panels",
+            description = "Updates the position and size of panels. Successive updates of a panel are coalesced and written shortly after")
+    @ApiResponse(responseCode = "202", description = "Geometries accepted")
+    @ApiResponse(responseCode = "404", description = "Workspace not found")
+    public ResponseEntity<Void> updatePanelGeometries(
+            @Parameter(description = "ID of the workspaces config") @PathVariable UUID id,
+            @Parameter(description = "ID of the workspace") @PathVariable UUID workspaceId,
+            @Parameter(description = "Geometries of the panels") @Valid @RequestBody List<PanelGeometryInfos> geometries) {
+        workspacesConfigService.updatePanelGeometries(id, workspaceId, geometries);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PatchMapping("/{id}/workspaces/{workspaceId}/panels/{panelId}")
+    @Operation(summary = "Update the layout of a panel",
+            description = "Updates the position, size, minimized, maximized and pinned states of a panel, the missing values are left unchanged")
+    @ApiResponse(responseCode = "204", description = "Panel layout updated")
+    @ApiResponse(responseCode = "404", description = "Panel not found")
+    public ResponseEntity<Void> updatePanelLayout(
+            @Parameter(description = "ID of the workspaces config") @PathVariable UUID id,
+            @Parameter(description = "ID of the workspace") @PathVariable UUID workspaceId,
+            @Parameter(description = "ID of the panel") @PathVariable UUID panelId,
+            @Parameter(description = "Layout of the panel") @RequestBody PanelLayoutInfos layout) {
+        workspacesConfigService.updatePanelLayout(id, workspaceId, panelId, layout);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/workspaces/{workspaceId}/panels/{panelId}/navigation-history")
+    @Operation(summary = "Append to the navigation history of a panel",
+            description = "Appends a voltage level to the navigation history of a NAD or SLD panel, dropping its oldest entry when the history is full")
+    @ApiResponse(responseCode = "204", description = "Navigation history entry appended")
+    @ApiResponse(responseCode = "404", description = "Panel not found")
+    public ResponseEntity<Void> appendNavigationHistory(
+            @Parameter(description = "ID of the workspaces config") @PathVariable UUID id,
+            @Parameter(description = "ID of the workspace") @PathVariable UUID workspaceId,
+            @Parameter(description = "ID of the panel") @PathVariable UUID panelId,
+            @Parameter(description = "ID of the voltage level") @RequestBody String voltageLevelId) {
+        workspacesConfigService.appendNavigationHistory(id, workspaceId, panelId, voltageLevelId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}/workspaces/{workspaceId}/panels/{panelId}/navigation-history/last")
+    @Operation(summary = "Remove the last entry of the navigation history of a panel",
+            description = "Removes the latest voltage level of the navigation history of a NAD or SLD panel")
+    @ApiResponse(responseCode = "204", description = "Navigation history entry removed")
+    @ApiResponse(responseCode = "404", description = "Panel not found or navigation history empty")
+    public ResponseEntity<Void> removeLastNavigationHistory(
+            @Parameter(description = "ID of the workspaces config") @PathVariable UUID id,
+            @Parameter(description = "ID of the workspace") @PathVariable UUID workspaceId,
+            @Parameter(description = "ID of the panel") @PathVariable UUID panelId) {
+        workspacesConfigService.removeLastNavigationHistory(id, workspaceId, panelId);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}/workspaces/{workspaceId}/panels")
     @Operation(summary = "Delete panels", description = "Deletes panels by their IDs, or all panels if no IDs provided")
     @ApiResponse(responseCode = "204", description = "Panels deleted")
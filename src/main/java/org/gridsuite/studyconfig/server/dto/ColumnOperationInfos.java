@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.gridsuite.studyconfig.server.constants.ColumnOperationType;
+
+import java.util.UUID;
+
+@Schema(name = "ColumnOperationDto", description = "Operation on the columns of a spreadsheet configuration")
+public record ColumnOperationInfos(
+
+    @NotNull(message = "Operation type is mandatory")
+    @Schema(description = "Operation type")
+    ColumnOperationType type,
+
+    @Schema(description = "UUID of the column the operation applies to, for all operations but ADD")
+    UUID columnId,
+
+    @Valid
+    @Schema(description = "Column content, for ADD and UPDATE")
+    SpreadsheetColumnInfos column,
+
+    @Schema(description = "Target position (0-based) for MOVE, optional for ADD which appends the column by default")
+    Integer position,
+
+    @Schema(description = "Column visibility, for VISIBILITY")
+    Boolean visible
+) { }
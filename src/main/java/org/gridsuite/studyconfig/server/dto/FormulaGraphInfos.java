@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(name = "FormulaGraphDto", description = "Compiled column formulas of a spreadsheet configuration")
+public record FormulaGraphInfos(
+
+    @Schema(description = "Column ids ordered so that each column comes after the columns it depends on")
+    List<String> evaluationOrder,
+
+    @Schema(description = "Direct column dependencies of the columns depending on other columns, by column id")
+    Map<String, List<String>> dependencies
+) { }
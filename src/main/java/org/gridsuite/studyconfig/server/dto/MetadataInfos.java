@@ -6,9 +6,11 @@
  */
 package org.gridsuite.studyconfig.server.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.gridsuite.studyconfig.server.constants.SheetType;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -21,6 +23,18 @@ public record MetadataInfos(
     UUID id,
 
     @Schema(description = "Spreadsheet type")
-    SheetType sheetType
+    SheetType sheetType,
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Number of columns, only given when aggregates are requested")
+    Long columnCount,
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Number of global filters, only given when aggregates are requested")
+    Long globalFilterCount,
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Date of the last modification, only given when aggregates are requested")
+    Instant lastModified
 
 ) { }
@@ -0,0 +1,23 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(name = "SpreadsheetConfigPageDto", description = "Page of spreadsheet configurations ordered by ID")
+public record SpreadsheetConfigPageInfos(
+
+    @Schema(description = "Spreadsheet configurations of the page")
+    List<SpreadsheetConfigInfos> content,
+
+    @Schema(description = "ID to pass as afterId to get the next page, null on the last page")
+    UUID nextAfterId
+) {
+}
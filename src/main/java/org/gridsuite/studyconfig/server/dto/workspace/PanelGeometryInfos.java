@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.dto.workspace;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+@Schema(name = "PanelGeometryDto", description = "Position and size of a panel")
+public record PanelGeometryInfos(
+    @NotNull(message = "Panel ID is mandatory")
+    @Schema(description = "Panel ID")
+    UUID id,
+
+    @NotNull(message = "Position is mandatory")
+    @Schema(description = "Position")
+    PanelPositionInfos position,
+
+    @NotNull(message = "Size is mandatory")
+    @Schema(description = "Size")
+    PanelSizeInfos size
+) {
+}
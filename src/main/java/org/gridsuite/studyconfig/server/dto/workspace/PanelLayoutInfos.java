@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.dto.workspace;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "PanelLayoutDto", description = "Layout of a panel, the missing values are left unchanged")
+public record PanelLayoutInfos(
+    @Schema(description = "Position")
+    PanelPositionInfos position,
+
+    @Schema(description = "Size")
+    PanelSizeInfos size,
+
+    @Schema(description = "Is minimized")
+    Boolean minimized,
+
+    @Schema(description = "Is maximized")
+    Boolean maximized,
+
+    @Schema(description = "Is pinned")
+    Boolean pinned
+) {
+}
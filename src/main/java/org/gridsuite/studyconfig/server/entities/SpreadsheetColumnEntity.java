@@ -17,7 +17,9 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "spreadsheet_column",
-        indexes = @Index(name = "idx_spreadsheet_column_spreadsheet_config_id", columnList = "spreadsheet_config_id"))
+        indexes = {
+            @Index(name = "idx_spreadsheet_column_spreadsheet_config_id", columnList = "spreadsheet_config_id"),
+            @Index(name = "idx_spreadsheet_column_config_id_order", columnList = "spreadsheet_config_id, column_order")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,7 +28,7 @@ import java.util.UUID;
 public class SpreadsheetColumnEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "uuid")
     private UUID uuid;
 
@@ -53,6 +55,16 @@ public class SpreadsheetColumnEntity {
     @Builder.Default
     private boolean visible = true;
 
+    /**
+     * Read-only views of the columns written by the owning config (join column and order column),
+     * used to address a column directly without loading its siblings.
+     */
+    @Column(name = "spreadsheet_config_id", insertable = false, updatable = false)
+    private UUID spreadsheetConfigId;
+
+    @Column(name = "column_order", insertable = false, updatable = false)
+    private Integer columnOrder;
+
     @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "columnEntity_columnFilter_id", referencedColumnName = "uuid",
             foreignKey = @ForeignKey(name = "columnEntity_columnFilter_fk"))
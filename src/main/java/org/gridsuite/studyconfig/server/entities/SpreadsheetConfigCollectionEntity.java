@@ -26,7 +26,7 @@ import java.util.UUID;
 public class SpreadsheetConfigCollectionEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id")
     private UUID id;
 
@@ -36,7 +36,7 @@ public class SpreadsheetConfigCollectionEntity {
     @Builder.Default
     private List<SpreadsheetConfigEntity> spreadsheetConfigs = new ArrayList<>();
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
     @CollectionTable(name = "node_aliases", foreignKey = @ForeignKey(name = "fk_spreadsheet_config_collection_node_aliases"))
     private List<String> nodeAliases;
 }
@@ -10,7 +10,11 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.gridsuite.studyconfig.server.constants.SheetType;
 import org.gridsuite.studyconfig.server.constants.SortDirection;
+import org.gridsuite.studyconfig.server.formula.FormulaGraph;
+import org.gridsuite.studyconfig.server.formula.FormulaGraphCompiler;
+import org.hibernate.annotations.BatchSize;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -28,7 +32,7 @@ import java.util.UUID;
 public class SpreadsheetConfigEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id")
     private UUID id;
 
@@ -42,16 +46,19 @@ public class SpreadsheetConfigEntity {
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "spreadsheet_config_id", foreignKey = @ForeignKey(name = "fk_spreadsheet_config_column"))
     @OrderColumn(name = "column_order")
+    @BatchSize(size = 256)
     @Builder.Default
     private List<SpreadsheetColumnEntity> columns = new ArrayList<>();
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "spreadsheet_config_id", foreignKey = @ForeignKey(name = "fk_global_filter_spreadsheet_config"))
+    @BatchSize(size = 256)
     @Builder.Default
     private List<GlobalFilterEntity> globalFilters = new ArrayList<>();
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
     @CollectionTable(name = "config_node_aliases", foreignKey = @ForeignKey(name = "fk_spreadsheet_config_node_aliases"))
+    @BatchSize(size = 256)
     private List<String> nodeAliases;
 
     @Column(name = "sort_column_id")
@@ -61,6 +68,41 @@ public class SpreadsheetConfigEntity {
     @Enumerated(EnumType.STRING)
     private SortDirection sortDirection;
 
+    /**
+     * Config of a shared template providing the columns and global filters as long as this config has not modified them.
+     * Such a config has no column nor global filter of its own until it is materialized.
+     */
+    @Column(name = "template_config_id")
+    private UUID templateConfigId;
+
+    /**
+     * Incremented by every modification of the config, including its columns and global filters, exposed as ETag.
+     * Only written by the explicit increment of the service, which also covers the writes bypassing the entity.
+     */
+    @Column(name = "version", nullable = false, updatable = false)
+    @Builder.Default
+    private Long version = 0L;
+
+    /**
+     * Set along with the version by every modification of the config.
+     */
+    @Column(name = "last_modified", nullable = false)
+    @Builder.Default
+    private Instant lastModified = Instant.now();
+
+    /**
+     * Encoded {@link FormulaGraph} of the columns, to be recompiled whenever columns are added, removed or changed.
+     */
+    @Column(name = "formula_graph", columnDefinition = "CLOB")
+    private String formulaGraph;
+
+    /**
+     * @throws org.gridsuite.studyconfig.server.formula.InvalidFormulaException if the formulas of the columns are invalid
+     */
+    public void compileFormulas() {
+        this.formulaGraph = FormulaGraphCompiler.compileColumns(columns).encode();
+    }
+
     public void resetFilters() {
         this.globalFilters.clear();
         this.columns.forEach(column -> {
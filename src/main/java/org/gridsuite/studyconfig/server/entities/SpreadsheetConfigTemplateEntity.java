@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Shared collection materializing one version of the default spreadsheet config collection.
+ * Its configs are referenced by the configs of the study collections created from that version.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "spreadsheet_config_template")
+public class SpreadsheetConfigTemplateEntity {
+
+    @Id
+    @Column(name = "version")
+    private String version;
+
+    @Column(name = "collection_id", nullable = false)
+    private UUID collectionId;
+}
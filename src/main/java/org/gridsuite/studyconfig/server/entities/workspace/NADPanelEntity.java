@@ -6,11 +6,9 @@
  */
 package org.gridsuite.studyconfig.server.entities.workspace;
 
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.Entity;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import org.gridsuite.studyconfig.server.dto.workspace.NADPanelInfos;
 import org.gridsuite.studyconfig.server.dto.workspace.PanelInfos;
 
@@ -19,92 +17,57 @@ import java.util.List;
 import java.util.UUID;
 
 @NoArgsConstructor
-@AllArgsConstructor
-@Getter
-@Setter
 @Entity
-@Table(name = "nad_panel")
-@PrimaryKeyJoinColumn(name = "id", foreignKey = @ForeignKey(name = "fk_nad_panel_panel"))
+@DiscriminatorValue("NAD")
 public class NADPanelEntity extends PanelEntity {
 
-    @Column(name = "nad_config_uuid")
-    private UUID nadConfigUuid;
-
-    @Column(name = "filter_uuid")
-    private UUID filterUuid;
-
-    @Column(name = "current_filter_uuid")
-    private UUID currentFilterUuid;
-
-    @Column(name = "current_nad_config_uuid")
-    private UUID currentNadConfigUuid;
-
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(
-        name = "nad_panel_voltage_level_to_omit",
-        joinColumns = @JoinColumn(name = "panel_id", foreignKey = @ForeignKey(name = "fk_nad_panel_voltage_level_to_omit")),
-        indexes = @Index(name = "idx_nad_panel_voltage_level_to_omit_panel_id", columnList = "panel_id")
-    )
-    @Column(name = "voltage_level_id")
-    private List<String> voltageLevelToOmitIds = new ArrayList<>();
-
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(
-        name = "nad_panel_initial_voltage_levels",
-        joinColumns = @JoinColumn(name = "panel_id", foreignKey = @ForeignKey(name = "fk_nad_panel_initial_voltage_levels")),
-        indexes = @Index(name = "idx_nad_panel_initial_voltage_levels_panel_id", columnList = "panel_id")
-    )
-    @Column(name = "voltage_level_id")
-    private List<String> initialVoltageLevelIds = new ArrayList<>();
-
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(
-        name = "nad_panel_navigation_history",
-        joinColumns = @JoinColumn(name = "panel_id", foreignKey = @ForeignKey(name = "fk_nad_panel_navigation_history")),
-        indexes = @Index(name = "idx_nad_panel_navigation_history_panel_id", columnList = "panel_id")
-    )
-    @Column(name = "voltage_level_id")
-    @OrderColumn(name = "position")
-    private List<String> navigationHistory = new ArrayList<>();
-
     public NADPanelEntity(NADPanelInfos dto) {
         super(dto);
         initEntity(dto);
+        setInitialNavigationHistory(copyOrKeep(dto.getNavigationHistory(), List.of()));
     }
 
     @Override
     protected void initEntity(PanelInfos dto) {
         super.initEntity(dto);
         NADPanelInfos nadDto = (NADPanelInfos) dto;
-        nadConfigUuid = nadDto.getNadConfigUuid();
-        filterUuid = nadDto.getFilterUuid();
-        currentFilterUuid = nadDto.getCurrentFilterUuid();
-        currentNadConfigUuid = nadDto.getCurrentNadConfigUuid();
-        if (nadDto.getVoltageLevelToOmitIds() != null) {
-            voltageLevelToOmitIds = new ArrayList<>(nadDto.getVoltageLevelToOmitIds());
-        }
-        if (nadDto.getInitialVoltageLevelIds() != null) {
-            initialVoltageLevelIds = new ArrayList<>(nadDto.getInitialVoltageLevelIds());
-        }
-        if (nadDto.getNavigationHistory() != null) {
-            navigationHistory = new ArrayList<>(nadDto.getNavigationHistory());
-        }
+        NADPanelPayload payload = getNadPayload();
+        setPayload(payload.toBuilder()
+            .nadConfigUuid(nadDto.getNadConfigUuid())
+            .filterUuid(nadDto.getFilterUuid())
+            .currentFilterUuid(nadDto.getCurrentFilterUuid())
+            .currentNadConfigUuid(nadDto.getCurrentNadConfigUuid())
+            .voltageLevelToOmitIds(copyOrKeep(nadDto.getVoltageLevelToOmitIds(), payload.voltageLevelToOmitIds()))
+            .initialVoltageLevelIds(copyOrKeep(nadDto.getInitialVoltageLevelIds(), payload.initialVoltageLevelIds()))
+            .build());
     }
 
     @Override
     public NADPanelInfos toDto() {
         NADPanelInfos dto = new NADPanelInfos();
         iniDto(dto);
-        dto.setNadConfigUuid(getNadConfigUuid());
-        dto.setFilterUuid(getFilterUuid());
-        dto.setCurrentFilterUuid(getCurrentFilterUuid());
-        dto.setCurrentNadConfigUuid(getCurrentNadConfigUuid());
-        dto.setVoltageLevelToOmitIds(getVoltageLevelToOmitIds());
-        dto.setInitialVoltageLevelIds(getInitialVoltageLevelIds());
-        dto.setNavigationHistory(getNavigationHistory());
+        NADPanelPayload payload = getNadPayload();
+        dto.setNadConfigUuid(payload.nadConfigUuid());
+        dto.setFilterUuid(payload.filterUuid());
+        dto.setCurrentFilterUuid(payload.currentFilterUuid());
+        dto.setCurrentNadConfigUuid(payload.currentNadConfigUuid());
+        dto.setVoltageLevelToOmitIds(new ArrayList<>(payload.voltageLevelToOmitIds()));
+        dto.setInitialVoltageLevelIds(new ArrayList<>(payload.initialVoltageLevelIds()));
         return dto;
     }
 
+    public UUID getCurrentNadConfigUuid() {
+        return getNadPayload().currentNadConfigUuid();
+    }
+
+    public void setCurrentNadConfigUuid(UUID currentNadConfigUuid) {
+        setPayload(getNadPayload().toBuilder().currentNadConfigUuid(currentNadConfigUuid).build());
+    }
+
+    private NADPanelPayload getNadPayload() {
+        return getPayload() instanceof NADPanelPayload nadPayload ? nadPayload : NADPanelPayload.EMPTY;
+    }
+
     @Override
     public boolean isNad() {
         return true;
@@ -13,7 +13,12 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.gridsuite.studyconfig.server.dto.workspace.*;
 import org.gridsuite.studyconfig.server.entities.AbstractManuallyAssignedIdentifierEntity;
+import org.hibernate.annotations.DiscriminatorFormula;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @NoArgsConstructor
@@ -24,7 +29,10 @@ import java.util.UUID;
 @Table(name = "panel", indexes = {
     @Index(name = "idx_panel_workspace_id", columnList = "workspace_id")
 })
-@Inheritance(strategy = InheritanceType.JOINED)
+// all the panels are read from the panel table alone, the type-specific values being in its payload column
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorFormula("case when type = 'NAD' then 'NAD' when type in ('SLD_VOLTAGE_LEVEL', 'SLD_SUBSTATION') then 'SLD' else 'PANEL' end")
+@DiscriminatorValue("PANEL")
 public class PanelEntity extends AbstractManuallyAssignedIdentifierEntity<UUID> {
 
     @Id
@@ -71,6 +79,18 @@ public class PanelEntity extends AbstractManuallyAssignedIdentifierEntity<UUID>
     @Column(name = "restore_size_height")
     private Double restoreSizeHeight;
 
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload")
+    private PanelPayload payload;
+
+    // navigation history of a new panel, written to its own table once the panel is inserted
+    @Transient
+    private List<String> initialNavigationHistory;
+
+    // panel this one is a copy of, whose navigation history is copied once this one is inserted
+    @Transient
+    private UUID duplicatedFromId;
+
     public static PanelEntity toEntity(PanelInfos dto) {
         PanelEntity entity = switch (dto) {
             case NADPanelInfos nad -> new NADPanelEntity(nad);
@@ -113,6 +133,13 @@ public class PanelEntity extends AbstractManuallyAssignedIdentifierEntity<UUID>
         }
     }
 
+    /**
+     * List of a payload: a copy of the given one, or the current one when none is given.
+     */
+    protected static List<String> copyOrKeep(List<String> values, List<String> current) {
+        return values != null ? new ArrayList<>(values) : current;
+    }
+
     protected void iniDto(PanelInfos dto) {
         dto.setId(getId());
         dto.setType(getType());
@@ -139,7 +166,9 @@ public class PanelEntity extends AbstractManuallyAssignedIdentifierEntity<UUID>
     public PanelEntity duplicate() {
         PanelInfos dto = this.toDto();
         dto.setId(null);
-        return PanelEntity.toEntity(dto);
+        PanelEntity copy = PanelEntity.toEntity(dto);
+        copy.setDuplicatedFromId(getId());
+        return copy;
     }
 
     public boolean isNad() {
@@ -6,66 +6,56 @@
  */
 package org.gridsuite.studyconfig.server.entities.workspace;
 
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.Entity;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import org.gridsuite.studyconfig.server.dto.workspace.PanelInfos;
 import org.gridsuite.studyconfig.server.dto.workspace.SLDPanelInfos;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @NoArgsConstructor
-@AllArgsConstructor
-@Getter
-@Setter
 @Entity
-@Table(name = "sld_panel")
-@PrimaryKeyJoinColumn(name = "id", foreignKey = @ForeignKey(name = "fk_sld_panel_panel"))
+@DiscriminatorValue("SLD")
 public class SLDPanelEntity extends PanelEntity {
 
-    @Column(name = "equipment_id", nullable = false)
-    private String equipmentId;
-
-    @Column(name = "parent_nad_panel_id")
-    private UUID parentNadPanelId;
-
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(
-        name = "sld_panel_navigation_history",
-        joinColumns = @JoinColumn(name = "panel_id", foreignKey = @ForeignKey(name = "fk_sld_panel_navigation_history")),
-        indexes = @Index(name = "idx_sld_panel_navigation_history_panel_id", columnList = "panel_id")
-    )
-    @Column(name = "voltage_level_id")
-    @OrderColumn(name = "position")
-    private List<String> navigationHistory = new ArrayList<>();
-
     public SLDPanelEntity(SLDPanelInfos dto) {
         super(dto);
         initEntity(dto);
+        setInitialNavigationHistory(copyOrKeep(dto.getNavigationHistory(), List.of()));
     }
 
     @Override
     protected void initEntity(PanelInfos dto) {
         super.initEntity(dto);
         SLDPanelInfos sldDto = (SLDPanelInfos) dto;
-        equipmentId = sldDto.getEquipmentId();
-        parentNadPanelId = sldDto.getParentNadPanelId();
-        if (sldDto.getNavigationHistory() != null) {
-            navigationHistory = new ArrayList<>(sldDto.getNavigationHistory());
-        }
+        SLDPanelPayload payload = getSldPayload();
+        setPayload(payload.toBuilder()
+            .equipmentId(sldDto.getEquipmentId())
+            .parentNadPanelId(sldDto.getParentNadPanelId())
+            .build());
     }
 
     @Override
     public SLDPanelInfos toDto() {
         SLDPanelInfos dto = new SLDPanelInfos();
         iniDto(dto);
-        dto.setEquipmentId(getEquipmentId());
-        dto.setParentNadPanelId(getParentNadPanelId());
-        dto.setNavigationHistory(getNavigationHistory());
+        SLDPanelPayload payload = getSldPayload();
+        dto.setEquipmentId(payload.equipmentId());
+        dto.setParentNadPanelId(payload.parentNadPanelId());
         return dto;
     }
+
+    public UUID getParentNadPanelId() {
+        return getSldPayload().parentNadPanelId();
+    }
+
+    public void setParentNadPanelId(UUID parentNadPanelId) {
+        setPayload(getSldPayload().toBuilder().parentNadPanelId(parentNadPanelId).build());
+    }
+
+    private SLDPanelPayload getSldPayload() {
+        return getPayload() instanceof SLDPanelPayload sldPayload ? sldPayload : SLDPanelPayload.EMPTY;
+    }
 }
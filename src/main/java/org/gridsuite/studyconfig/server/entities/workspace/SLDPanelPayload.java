@@ -0,0 +1,20 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.entities.workspace;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+@Builder(toBuilder = true)
+public record SLDPanelPayload(
+    String equipmentId,
+    UUID parentNadPanelId
+) implements PanelPayload {
+
+    public static final SLDPanelPayload EMPTY = new SLDPanelPayload(null, null);
+}
@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.gridsuite.studyconfig.server.dto.workspace.WorkspaceInfos;
 import org.gridsuite.studyconfig.server.dto.workspace.WorkspaceMetadata;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -40,9 +41,14 @@ public class WorkspaceEntity {
     @Column(name = "name", nullable = false)
     private String name;
 
+    // read-only view of the join column owned by WorkspacesConfigEntity.workspaces, to look a workspace up directly
+    @Column(name = "workspaces_config_id", insertable = false, updatable = false)
+    private UUID workspacesConfigId;
+
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "workspace_id", foreignKey = @ForeignKey(name = "fk_workspace"))
     @OrderColumn(name = "panel_order")
+    @BatchSize(size = 256)
     private List<PanelEntity> panels = new ArrayList<>();
 
     public WorkspaceEntity(WorkspaceInfos dto) {
@@ -0,0 +1,19 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.formula;
+
+import org.gridsuite.studyconfig.server.entities.SpreadsheetColumnEntity;
+
+/**
+ * Formula of a column, as stored in spreadsheet_column: dependencies is a JSON array of column ids.
+ */
+public record ColumnFormula(String id, String formula, String dependencies) {
+
+    public static ColumnFormula of(SpreadsheetColumnEntity column) {
+        return new ColumnFormula(column.getId(), column.getFormula(), column.getDependencies());
+    }
+}
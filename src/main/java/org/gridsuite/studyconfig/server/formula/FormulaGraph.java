@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.formula;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Compiled formulas of a spreadsheet config: the column ids in an order where each column comes after the columns it
+ * depends on, and for each of them the indexes in that order of its direct dependencies.
+ * <p>
+ * Stored with the config in a compact text form: one entry per column separated by ';', each entry being the
+ * URL encoded column id optionally followed by ':' and the comma separated indexes of its dependencies.
+ */
+public record FormulaGraph(List<String> evaluationOrder, List<List<Integer>> dependencies) {
+
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String DEPENDENCIES_SEPARATOR = ":";
+    private static final String INDEX_SEPARATOR = ",";
+
+    public String encode() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < evaluationOrder.size(); i++) {
+            if (i > 0) {
+                builder.append(ENTRY_SEPARATOR);
+            }
+            builder.append(URLEncoder.encode(evaluationOrder.get(i), StandardCharsets.UTF_8));
+            if (!dependencies.get(i).isEmpty()) {
+                builder.append(DEPENDENCIES_SEPARATOR).append(dependencies.get(i).stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(INDEX_SEPARATOR)));
+            }
+        }
+        return builder.toString();
+    }
+
+    public static FormulaGraph decode(String encoded) {
+        List<String> evaluationOrder = new ArrayList<>();
+        List<List<Integer>> dependencies = new ArrayList<>();
+        if (!encoded.isEmpty()) {
+            for (String entry : encoded.split(ENTRY_SEPARATOR)) {
+                int separatorIndex = entry.indexOf(DEPENDENCIES_SEPARATOR);
+                if (separatorIndex < 0) {
+                    evaluationOrder.add(URLDecoder.decode(entry, StandardCharsets.UTF_8));
+                    dependencies.add(List.of());
+                } else {
+                    evaluationOrder.add(URLDecoder.decode(entry.substring(0, separatorIndex), StandardCharsets.UTF_8));
+                    dependencies.add(Arrays.stream(entry.substring(separatorIndex + 1).split(INDEX_SEPARATOR))
+                            .map(Integer::valueOf)
+                            .toList());
+                }
+            }
+        }
+        return new FormulaGraph(evaluationOrder, dependencies);
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.formula;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.studyconfig.server.entities.SpreadsheetColumnEntity;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Checks the formulas of the columns of a spreadsheet config and compiles their dependencies into a
+ * {@link FormulaGraph}.
+ * <p>
+ * The dependencies of a column are the ones it declares (JSON array of column ids), the ids that do not match any
+ * column of the config being equipment properties. Formulas are only checked for unterminated strings and unbalanced
+ * brackets, their full syntax is left to the clients evaluating them.
+ */
+public final class FormulaGraphCompiler {
+
+    private static final String OPENING_BRACKETS = "([{";
+    private static final String CLOSING_BRACKETS = ")]}";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> DEPENDENCIES_TYPE = new TypeReference<>() {
+    };
+
+    private FormulaGraphCompiler() {
+    }
+
+    public static FormulaGraph compileColumns(List<SpreadsheetColumnEntity> columns) {
+        return compile(columns.stream().map(ColumnFormula::of).toList());
+    }
+
+    /**
+     * Kahn's algorithm, columns that do not depend on each other keep their relative position.
+     *
+     * @throws InvalidFormulaException if a formula is malformed or if columns depend on each other
+     */
+    public static FormulaGraph compile(List<ColumnFormula> columns) {
+        Map<String, Integer> indexById = HashMap.newHashMap(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            checkFormula(columns.get(i));
+            indexById.putIfAbsent(columns.get(i).id(), i);
+        }
+
+        List<List<Integer>> dependencies = new ArrayList<>(columns.size());
+        List<List<Integer>> dependents = new ArrayList<>(columns.size());
+        int[] remainingDependencies = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            List<Integer> columnDependencies = parseDependencies(columns.get(i)).stream()
+                    .map(indexById::get)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+            dependencies.add(columnDependencies);
+            remainingDependencies[i] = columnDependencies.size();
+            for (int dependency : columnDependencies) {
+                dependents.get(dependency).add(i);
+            }
+        }
+
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < columns.size(); i++) {
+            if (remainingDependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+        int[] positions = new int[columns.size()];
+        List<Integer> order = new ArrayList<>(columns.size());
+        while (!ready.isEmpty()) {
+            int column = ready.poll();
+            positions[column] = order.size();
+            order.add(column);
+            for (int dependent : dependents.get(column)) {
+                if (--remainingDependencies[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() < columns.size()) {
+            // columns in a cycle or depending on one
+            Set<String> blockedColumns = IntStream.range(0, columns.size())
+                    .filter(column -> remainingDependencies[column] > 0)
+                    .mapToObj(column -> columns.get(column).id())
+                    .collect(Collectors.toCollection(TreeSet::new));
+            throw new InvalidFormulaException("Cyclic dependencies involving columns " + blockedColumns, blockedColumns);
+        }
+
+        return new FormulaGraph(
+                order.stream().map(column -> columns.get(column).id()).toList(),
+                order.stream()
+                        .map(column -> dependencies.get(column).stream().map(dependency -> positions[dependency]).sorted().toList())
+                        .toList());
+    }
+
+    /**
+     * Checks the formula and the dependencies of a single column, regardless of the other columns.
+     *
+     * @throws InvalidFormulaException if the formula or the dependencies are malformed
+     */
+    public static void checkColumn(ColumnFormula column) {
+        checkFormula(column);
+        parseDependencies(column);
+    }
+
+    private static void checkFormula(ColumnFormula column) {
+        String formula = column.formula();
+        if (formula == null) {
+            return;
+        }
+        Deque<Character> brackets = new ArrayDeque<>();
+        for (int i = 0; i < formula.length(); i++) {
+            char c = formula.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = skipString(formula, i);
+                if (i < 0) {
+                    throw invalidFormula(column, "unterminated string");
+                }
+            } else if (OPENING_BRACKETS.indexOf(c) >= 0) {
+                brackets.push(c);
+            } else if (CLOSING_BRACKETS.indexOf(c) >= 0
+                    && (brackets.isEmpty() || OPENING_BRACKETS.indexOf(brackets.pop()) != CLOSING_BRACKETS.indexOf(c))) {
+                throw invalidFormula(column, "unexpected '" + c + "' at position " + i);
+            }
+        }
+        if (!brackets.isEmpty()) {
+            throw invalidFormula(column, "unclosed '" + brackets.peek() + "'");
+        }
+    }
+
+    private static InvalidFormulaException invalidFormula(ColumnFormula column, String reason) {
+        return new InvalidFormulaException("Invalid formula for column " + column.id() + ": " + reason,
+                column.id() != null ? Set.of(column.id()) : Set.of());
+    }
+
+    /**
+     * @return the index of the closing quote of the string starting at the given index, -1 if it is not terminated
+     */
+    private static int skipString(String text, int start) {
+        char quote = text.charAt(start);
+        for (int i = start + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == quote) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Column ids of the JSON array of strings declared by the column.
+     */
+    private static List<String> parseDependencies(ColumnFormula column) {
+        String dependencies = column.dependencies();
+        if (dependencies == null || dependencies.isBlank()) {
+            return List.of();
+        }
+        try {
+            List<String> ids = OBJECT_MAPPER.readValue(dependencies, DEPENDENCIES_TYPE);
+            return ids != null ? ids : List.of();
+        } catch (JsonProcessingException e) {
+            throw invalidFormula(column, "dependencies are not a JSON array of column ids");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.formula;
+
+import java.util.Set;
+
+/**
+ * Malformed formula or dependencies between columns that cannot be ordered.
+ */
+public class InvalidFormulaException extends IllegalArgumentException {
+
+    private final transient Set<String> columnIds;
+
+    public InvalidFormulaException(String message, Set<String> columnIds) {
+        super(message);
+        this.columnIds = Set.copyOf(columnIds);
+    }
+
+    /**
+     * @return the ids of the columns whose formula or dependencies are invalid
+     */
+    public Set<String> getColumnIds() {
+        return columnIds;
+    }
+}
@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.invalidation;
+
+/**
+ * Kinds of entities whose modifications are published as invalidations, all identified by a UUID.
+ */
+public enum InvalidatedEntity {
+    SPREADSHEET_CONFIG,
+    SPREADSHEET_CONFIG_COLLECTION,
+    WORKSPACES_CONFIG,
+    WORKSPACE,
+    NETWORK_VISUALIZATIONS_PARAMS
+}
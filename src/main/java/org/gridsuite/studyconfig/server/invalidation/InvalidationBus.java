@@ -0,0 +1,23 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.invalidation;
+
+/**
+ * Broadcasts the invalidations of a replica to its own listeners and to the other replicas of the service.
+ * <p>
+ * The implementation is selected by the study-config.invalidation.bus property: "postgres" relies on the
+ * LISTEN/NOTIFY mechanism of the database, "local" (the default) only reaches the listeners of the current JVM.
+ */
+public interface InvalidationBus {
+
+    /**
+     * To be called within the transaction of the modification: the listeners are only notified if it commits.
+     */
+    void publish(InvalidationEvent event);
+
+    void subscribe(InvalidationListener listener);
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.invalidation;
+
+import java.util.*;
+
+/**
+ * Ids of the entities modified or deleted by a transaction, by kind of entity.
+ * <p>
+ * Published as an application event by the services within their transactions: it is forwarded to the other replicas
+ * through the {@link InvalidationBus} and handled locally once the transaction is committed.
+ */
+public record InvalidationEvent(Map<InvalidatedEntity, Set<UUID>> ids) {
+
+    public InvalidationEvent {
+        Map<InvalidatedEntity, Set<UUID>> copy = new EnumMap<>(InvalidatedEntity.class);
+        copy.putAll(ids);
+        ids = Collections.unmodifiableMap(copy);
+    }
+
+    public static InvalidationEvent of(InvalidatedEntity entity, Collection<UUID> ids) {
+        return new InvalidationEvent(Map.of(entity, Set.copyOf(ids)));
+    }
+
+    public static InvalidationEvent of(InvalidatedEntity entity, UUID id) {
+        return of(entity, List.of(id));
+    }
+
+    public InvalidationEvent and(InvalidatedEntity entity, Collection<UUID> otherIds) {
+        Map<InvalidatedEntity, Set<UUID>> merged = new EnumMap<>(InvalidatedEntity.class);
+        merged.putAll(ids);
+        Set<UUID> entityIds = new HashSet<>(ids(entity));
+        entityIds.addAll(otherIds);
+        merged.put(entity, Set.copyOf(entityIds));
+        return new InvalidationEvent(merged);
+    }
+
+    public Set<UUID> ids(InvalidatedEntity entity) {
+        return ids.getOrDefault(entity, Set.of());
+    }
+}
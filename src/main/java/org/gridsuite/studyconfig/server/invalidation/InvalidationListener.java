@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.invalidation;
+
+/**
+ * Subscriber of an {@link InvalidationBus}, typically a local cache.
+ */
+public interface InvalidationListener {
+
+    /**
+     * Called once a transaction modifying the given entities has been committed, by this replica or by another one.
+     */
+    void onInvalidation(InvalidationEvent event);
+
+    /**
+     * Called when invalidations may have been lost, for example after a connection loss: everything must be
+     * considered modified.
+     */
+    void onInvalidationsMissed();
+}
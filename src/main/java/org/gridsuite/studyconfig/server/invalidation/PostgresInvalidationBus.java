@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.invalidation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bus relying on PostgreSQL LISTEN/NOTIFY: the invalidations are sent with pg_notify in the publishing transaction,
+ * so that PostgreSQL only delivers them if it commits, and received by a thread listening on a dedicated connection.
+ * That connection is held as long as the replica runs: it is opened with the datasource settings but outside of the
+ * connection pool, which keeps all its connections for the requests.
+ * <p>
+ * Payload: the id of the sending replica, then for each kind of entity ";", its name, ":" and the comma separated ids.
+ * Events that do not fit in the 8000 bytes limit of a notification are split. Each replica ignores its own
+ * notifications, its listeners being notified directly once the publishing transaction is committed. Notifications sent while the listening
+ * connection is down are lost: the listeners are told so after each (re)connection.
+ */
+@Component
+@ConditionalOnProperty(name = "study-config.invalidation.bus", havingValue = "postgres")
+public class PostgresInvalidationBus implements InvalidationBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    static final String CHANNEL = "study_config_invalidation";
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final String ENTITY_SEPARATOR = ":";
+    private static final String ID_SEPARATOR = ",";
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listeningThread;
+
+    public PostgresInvalidationBus(NamedParameterJdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        for (String payload : encode(event)) {
+            jdbcTemplate.query("SELECT pg_notify(:channel, :payload)",
+                    Map.of("channel", CHANNEL, "payload", payload),
+                    resultSet -> null);
+        }
+        LocalInvalidationBus.afterCommit(() -> listeners.forEach(listener -> listener.onInvalidation(event)));
+    }
+
+    @Override
+    public void subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listeningThread = new Thread(this::listen, "invalidation-listener");
+        listeningThread.setDaemon(true);
+        listeningThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listeningThread.interrupt();
+        listeningThread.join(POLL_TIMEOUT_MS);
+    }
+
+    private void listen() {
+        try {
+            while (running) {
+                try (Connection connection = openListeningConnection()) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("LISTEN " + CHANNEL);
+                    }
+                    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                    listeners.forEach(PostgresInvalidationBus::notifyInvalidationsMissed);
+                    while (running) {
+                        PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                        if (notifications != null) {
+                            Arrays.stream(notifications).forEach(notification -> receive(notification.getParameter()));
+                        }
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    if (running) {
+                        LOGGER.warn("Failed to listen to invalidations, reconnecting in {} ms", RECONNECT_DELAY_MS, e);
+                        sleepBeforeReconnecting();
+                    }
+                }
+            }
+        } finally {
+            if (running) {
+                LOGGER.error("Stopped listening to invalidations, the modifications of the other replicas are no longer seen");
+            } else {
+                LOGGER.info("Stopped listening to invalidations");
+            }
+        }
+    }
+
+    private Connection openListeningConnection() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private void sleepBeforeReconnecting() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    void receive(String payload) {
+        InvalidationEvent event;
+        try {
+            event = decode(payload);
+        } catch (IllegalArgumentException e) {
+            // sent by a replica running another version
+            LOGGER.warn("Unreadable invalidation {}", payload, e);
+            listeners.forEach(PostgresInvalidationBus::notifyInvalidationsMissed);
+            return;
+        }
+        if (event != null) {
+            listeners.forEach(listener -> notifyListener(listener, event));
+        }
+    }
+
+    private static void notifyListener(InvalidationListener listener, InvalidationEvent event) {
+        try {
+            listener.onInvalidation(event);
+        } catch (RuntimeException e) {
+            // the invalidation may not have been applied entirely
+            LOGGER.error("Listener {} failed to apply invalidation {}", listener, event, e);
+            notifyInvalidationsMissed(listener);
+        }
+    }
+
+    private static void notifyInvalidationsMissed(InvalidationListener listener) {
+        try {
+            listener.onInvalidationsMissed();
+        } catch (RuntimeException e) {
+            LOGGER.error("Listener {} failed to apply missed invalidations", listener, e);
+        }
+    }
+
+    List<String> encode(InvalidationEvent event) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(instanceId);
+        for (Map.Entry<InvalidatedEntity, Set<UUID>> entry : event.ids().entrySet()) {
+            String entityPrefix = ENTRY_SEPARATOR + entry.getKey().name() + ENTITY_SEPARATOR;
+            boolean firstId = true;
+            for (UUID id : entry.getValue()) {
+                String addition = (firstId ? entityPrefix : ID_SEPARATOR) + id;
+                if (payload.length() + addition.length() > MAX_PAYLOAD_LENGTH) {
+                    payloads.add(payload.toString());
+                    payload = new StringBuilder(instanceId);
+                    addition = entityPrefix + id;
+                }
+                payload.append(addition);
+                firstId = false;
+            }
+        }
+        if (payload.length() > instanceId.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * @return the decoded event, null if it has been sent by this replica
+     */
+    InvalidationEvent decode(String payload) {
+        String[] entries = payload.split(ENTRY_SEPARATOR);
+        if (entries[0].equals(instanceId)) {
+            return null;
+        }
+        Map<InvalidatedEntity, Set<UUID>> ids = new EnumMap<>(InvalidatedEntity.class);
+        for (int i = 1; i < entries.length; i++) {
+            int separatorIndex = entries[i].indexOf(ENTITY_SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Missing entity separator in " + entries[i]);
+            }
+            Set<UUID> entityIds = ids.computeIfAbsent(InvalidatedEntity.valueOf(entries[i].substring(0, separatorIndex)), entity -> new HashSet<>());
+            Arrays.stream(entries[i].substring(separatorIndex + 1).split(ID_SEPARATOR))
+                    .map(UUID::fromString)
+                    .forEach(entityIds::add);
+        }
+        return new InvalidationEvent(ids);
+    }
+}
@@ -12,7 +12,16 @@ import org.gridsuite.studyconfig.server.entities.ColumnFilterEntity;
 import org.gridsuite.studyconfig.server.entities.GlobalFilterEntity;
 import org.gridsuite.studyconfig.server.entities.SpreadsheetColumnEntity;
 import org.gridsuite.studyconfig.server.entities.SpreadsheetConfigEntity;
+import org.gridsuite.studyconfig.server.formula.FormulaGraph;
+import org.gridsuite.studyconfig.server.repositories.projections.ConfigMetadataRow;
+import org.gridsuite.studyconfig.server.repositories.projections.GlobalFilterRow;
+import org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetColumnRow;
+import org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetConfigRow;
+
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * @author Achour BERRAHMA <achour.berrahma at rte-france.com>
@@ -38,8 +47,37 @@ public final class SpreadsheetConfigMapper {
         );
     }
 
-    public static MetadataInfos toMetadataDto(SpreadsheetConfigEntity entity) {
-        return new MetadataInfos(entity.getId(), entity.getSheetType());
+    public static SpreadsheetConfigInfos toDto(SpreadsheetConfigRow config, List<SpreadsheetColumnRow> columns,
+                                               List<GlobalFilterRow> globalFilters, List<String> nodeAliases) {
+        return new SpreadsheetConfigInfos(
+                config.id(),
+                config.name(),
+                config.sheetType(),
+                columns.stream()
+                        .map(SpreadsheetConfigMapper::toColumnDto)
+                        .toList(),
+                globalFilters.stream()
+                        .map(SpreadsheetConfigMapper::toGlobalFilterDto)
+                        .toList(),
+                nodeAliases,
+                (config.sortColumnId() != null && config.sortDirection() != null) ? new SortConfig(config.sortColumnId(), config.sortDirection().name().toLowerCase()) : null
+        );
+    }
+
+    public static FormulaGraphInfos toFormulaGraphDto(FormulaGraph graph) {
+        Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        for (int i = 0; i < graph.evaluationOrder().size(); i++) {
+            if (!graph.dependencies().get(i).isEmpty()) {
+                dependencies.put(graph.evaluationOrder().get(i), graph.dependencies().get(i).stream()
+                        .map(graph.evaluationOrder()::get)
+                        .toList());
+            }
+        }
+        return new FormulaGraphInfos(graph.evaluationOrder(), dependencies);
+    }
+
+    public static MetadataInfos toMetadataDto(ConfigMetadataRow row) {
+        return new MetadataInfos(row.id(), row.sheetType(), row.columnCount(), row.globalFilterCount(), row.lastModified());
     }
 
     public static SpreadsheetConfigEntity toEntity(SpreadsheetConfigInfos dto) {
@@ -65,6 +103,7 @@ public final class SpreadsheetConfigMapper {
             entity.setSortColumnId(dto.sortConfig().colId());
             entity.setSortDirection(SortDirection.valueOf(dto.sortConfig().sort().toUpperCase()));
         }
+        entity.compileFormulas();
 
         return entity;
     }
@@ -87,6 +126,23 @@ public final class SpreadsheetConfigMapper {
                 );
     }
 
+    public static SpreadsheetColumnInfos toColumnDto(SpreadsheetColumnRow row) {
+        return new SpreadsheetColumnInfos(
+                row.uuid(),
+                row.name(),
+                row.type(),
+                row.precision(),
+                row.formula(),
+                row.dependencies(),
+                row.id(),
+                Boolean.TRUE.equals(row.visible()),
+                row.filterDataType(),
+                row.filterType(),
+                row.filterValue(),
+                row.filterTolerance()
+                );
+    }
+
     public static SpreadsheetColumnEntity toColumnEntity(SpreadsheetColumnInfos dto) {
         return SpreadsheetColumnEntity.builder()
                 .name(dto.name())
@@ -121,6 +177,21 @@ public final class SpreadsheetConfigMapper {
 
     }
 
+    public static GlobalFilterInfos toGlobalFilterDto(GlobalFilterRow row) {
+        return GlobalFilterInfos.builder()
+                .uuid(row.uuid())
+                .filterType(row.filterType())
+                .filterSubtype(row.filterSubtype())
+                .label(row.label())
+                .unselectedDate(row.unselectedDate())
+                .equipmentType(row.equipmentType())
+                .path(row.path())
+                .minValue(row.minValue())
+                .maxValue(row.maxValue())
+                .deleted(Boolean.TRUE.equals(row.deleted()))
+                .build();
+    }
+
     public static GlobalFilterEntity toGlobalFilterEntity(GlobalFilterInfos dto) {
         return GlobalFilterEntity.builder()
                 .filterType(dto.filterType())
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories;
+
+import org.gridsuite.studyconfig.server.dto.workspace.PanelGeometryInfos;
+import org.gridsuite.studyconfig.server.dto.workspace.PanelLayoutInfos;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Updates of the layout columns of panels, touching only the given rows and none of their other columns.
+ * Entities already loaded in the persistence context are not refreshed: callers must not load the rows they update.
+ */
+@Repository
+public class PanelLayoutRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PanelLayoutRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param geometries geometries of the panels by workspace id, a panel that is not in its workspace is ignored
+     */
+    public void updateGeometries(Map<UUID, List<PanelGeometryInfos>> geometries) {
+        MapSqlParameterSource[] parameters = geometries.entrySet().stream()
+                .flatMap(entry -> entry.getValue().stream()
+                        .map(geometry -> new MapSqlParameterSource()
+                                .addValue("id", geometry.id())
+                                .addValue("workspaceId", entry.getKey())
+                                .addValue("positionX", geometry.position().x())
+                                .addValue("positionY", geometry.position().y())
+                                .addValue("sizeWidth", geometry.size().width())
+                                .addValue("sizeHeight", geometry.size().height())))
+                .toArray(MapSqlParameterSource[]::new);
+        if (parameters.length == 0) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE panel SET position_x = :positionX, position_y = :positionY, size_width = :sizeWidth, size_height = :sizeHeight"
+                + " WHERE id = :id AND workspace_id = :workspaceId", parameters);
+    }
+
+    /**
+     * Updates the given layout values of a panel of a workspace of a config, the null ones are left unchanged.
+     *
+     * @return false if the panel is not found
+     */
+    public boolean updateLayout(UUID configId, UUID workspaceId, UUID panelId, PanelLayoutInfos layout) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", panelId)
+                .addValue("workspaceId", workspaceId)
+                .addValue("configId", configId)
+                .addValue("positionX", layout.position() != null ? layout.position().x() : null, Types.DOUBLE)
+                .addValue("positionY", layout.position() != null ? layout.position().y() : null, Types.DOUBLE)
+                .addValue("sizeWidth", layout.size() != null ? layout.size().width() : null, Types.DOUBLE)
+                .addValue("sizeHeight", layout.size() != null ? layout.size().height() : null, Types.DOUBLE)
+                .addValue("minimized", layout.minimized(), Types.BOOLEAN)
+                .addValue("maximized", layout.maximized(), Types.BOOLEAN)
+                .addValue("pinned", layout.pinned(), Types.BOOLEAN);
+        return jdbcTemplate.update("UPDATE panel SET position_x = COALESCE(:positionX, position_x), position_y = COALESCE(:positionY, position_y),"
+                + " size_width = COALESCE(:sizeWidth, size_width), size_height = COALESCE(:sizeHeight, size_height),"
+                + " is_minimized = COALESCE(:minimized, is_minimized), is_maximized = COALESCE(:maximized, is_maximized), is_pinned = COALESCE(:pinned, is_pinned)"
+                + " WHERE id = :id AND workspace_id = :workspaceId"
+                + " AND EXISTS (SELECT 1 FROM workspace w WHERE w.id = :workspaceId AND w.workspaces_config_id = :configId)", parameters) > 0;
+    }
+}
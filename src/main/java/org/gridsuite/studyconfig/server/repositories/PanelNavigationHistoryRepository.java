@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Navigation histories of the NAD and SLD panels, one row per entry numbered by an increasing sequence.
+ * Entries are appended and removed one row at a time, a history keeping only its latest entries: appending to a full
+ * history drops its oldest entry.
+ */
+@Repository
+public class PanelNavigationHistoryRepository {
+
+    // the panel, with a navigation history, of a workspace of a config
+    private static final String HISTORY_PANEL = "SELECT p.id FROM panel p JOIN workspace w ON w.id = p.workspace_id"
+            + " WHERE p.id = :panelId AND p.type IN ('NAD', 'SLD_VOLTAGE_LEVEL', 'SLD_SUBSTATION')"
+            + " AND w.id = :workspaceId AND w.workspaces_config_id = :configId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PanelNavigationHistoryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return the navigation history of each given panel having one, oldest entry first
+     */
+    public Map<UUID, List<String>> findByPanelIds(Collection<UUID> panelIds) {
+        if (panelIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, List<String>> histories = new HashMap<>();
+        jdbcTemplate.query("SELECT panel_id, voltage_level_id FROM panel_navigation_history WHERE panel_id IN (:panelIds) ORDER BY panel_id, seq",
+                new MapSqlParameterSource("panelIds", panelIds),
+                rs -> {
+                    histories.computeIfAbsent(rs.getObject("panel_id", UUID.class), id -> new ArrayList<>())
+                            .add(rs.getString("voltage_level_id"));
+                });
+        return histories;
+    }
+
+    /**
+     * Appends an entry to the navigation history of a panel of a workspace of a config, dropping the entries beyond
+     * the given length. The panel row is locked first, for concurrent appends to number their entries one after the
+     * other.
+     *
+     * @return false if the panel is not found or has no navigation history
+     */
+    public boolean append(UUID configId, UUID workspaceId, UUID panelId, String voltageLevelId, int maxLength) {
+        MapSqlParameterSource parameters = panelParameters(configId, workspaceId, panelId)
+                .addValue("voltageLevelId", voltageLevelId)
+                .addValue("maxLength", maxLength);
+        jdbcTemplate.queryForList("SELECT id FROM panel WHERE id = :panelId FOR UPDATE", parameters, UUID.class);
+        if (jdbcTemplate.update("INSERT INTO panel_navigation_history (panel_id, seq, voltage_level_id)"
+                + " SELECT h.id, COALESCE((SELECT MAX(seq) FROM panel_navigation_history WHERE panel_id = h.id), 0) + 1, :voltageLevelId"
+                + " FROM (" + HISTORY_PANEL + ") h", parameters) == 0) {
+            return false;
+        }
+        jdbcTemplate.update("DELETE FROM panel_navigation_history WHERE panel_id = :panelId"
+                + " AND seq <= (SELECT MAX(seq) FROM panel_navigation_history WHERE panel_id = :panelId) - :maxLength", parameters);
+        return true;
+    }
+
+    /**
+     * Removes the latest entry of the navigation history of a panel of a workspace of a config.
+     *
+     * @return false if the panel is not found or its navigation history is empty
+     */
+    public boolean removeLast(UUID configId, UUID workspaceId, UUID panelId) {
+        return jdbcTemplate.update("DELETE FROM panel_navigation_history WHERE panel_id IN (" + HISTORY_PANEL + ")"
+                + " AND seq = (SELECT MAX(seq) FROM panel_navigation_history WHERE panel_id = :panelId)",
+                panelParameters(configId, workspaceId, panelId)) > 0;
+    }
+
+    /**
+     * @param histories navigation histories of panels without any, by panel id, of which the given length is kept
+     */
+    public void insertAll(Map<UUID, List<String>> histories, int maxLength) {
+        MapSqlParameterSource[] parameters = histories.entrySet().stream()
+                .flatMap(entry -> {
+                    List<String> history = entry.getValue();
+                    int first = Math.max(0, history.size() - maxLength);
+                    return history.subList(first, history.size()).stream()
+                            .map(voltageLevelId -> new MapSqlParameterSource()
+                                    .addValue("panelId", entry.getKey())
+                                    .addValue("voltageLevelId", voltageLevelId));
+                })
+                .toArray(MapSqlParameterSource[]::new);
+        if (parameters.length == 0) {
+            return;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            // sequences only need to increase within a history
+            parameters[i].addValue("seq", i + 1);
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO panel_navigation_history (panel_id, seq, voltage_level_id) VALUES (:panelId, :seq, :voltageLevelId)", parameters);
+    }
+
+    /**
+     * @param sourcePanelIds ids of the panels whose navigation history is copied, by id of the panel without any receiving it
+     */
+    public void copyAll(Map<UUID, UUID> sourcePanelIds) {
+        MapSqlParameterSource[] parameters = sourcePanelIds.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("panelId", entry.getKey())
+                        .addValue("sourcePanelId", entry.getValue()))
+                .toArray(MapSqlParameterSource[]::new);
+        if (parameters.length == 0) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO panel_navigation_history (panel_id, seq, voltage_level_id)"
+                + " SELECT :panelId, seq, voltage_level_id FROM panel_navigation_history WHERE panel_id = :sourcePanelId", parameters);
+    }
+
+    private static MapSqlParameterSource panelParameters(UUID configId, UUID workspaceId, UUID panelId) {
+        return new MapSqlParameterSource()
+                .addValue("panelId", panelId)
+                .addValue("workspaceId", workspaceId)
+                .addValue("configId", configId);
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories;
+
+import org.gridsuite.studyconfig.server.entities.SpreadsheetColumnEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Direct access to the columns of a spreadsheet config, without loading the config nor the sibling columns.
+ * The join and order columns are owned by SpreadsheetConfigEntity.columns: a column saved through this repository
+ * must then be attached to its config with {@link #attachColumn}.
+ */
+@Repository
+public interface SpreadsheetColumnRepository extends JpaRepository<SpreadsheetColumnEntity, UUID> {
+
+    @EntityGraph(attributePaths = "columnFilter")
+    Optional<SpreadsheetColumnEntity> findBySpreadsheetConfigIdAndUuid(UUID spreadsheetConfigId, UUID uuid);
+
+    @Query("select col.id from SpreadsheetColumnEntity col where col.spreadsheetConfigId = :configId")
+    List<String> findColumnIdsBySpreadsheetConfigId(@Param("configId") UUID configId);
+
+    @Query("select col.name from SpreadsheetColumnEntity col where col.spreadsheetConfigId = :configId")
+    List<String> findNamesBySpreadsheetConfigId(@Param("configId") UUID configId);
+
+    /**
+     * Adds offset to the position of the columns of the config placed after the given position.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE spreadsheet_column SET column_order = column_order + :offset " +
+            "WHERE spreadsheet_config_id = :configId AND column_order > :position", nativeQuery = true)
+    void shiftColumnOrders(@Param("configId") UUID configId, @Param("position") int position, @Param("offset") int offset);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE spreadsheet_column SET spreadsheet_config_id = :configId, column_order = :position " +
+            "WHERE uuid = :uuid", nativeQuery = true)
+    void attachColumn(@Param("uuid") UUID uuid, @Param("configId") UUID configId, @Param("position") int position);
+}
@@ -7,9 +7,11 @@
 package org.gridsuite.studyconfig.server.repositories;
 
 import org.gridsuite.studyconfig.server.entities.SpreadsheetConfigCollectionEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -17,4 +19,19 @@ import java.util.UUID;
  */
 @Repository
 public interface SpreadsheetConfigCollectionRepository extends JpaRepository<SpreadsheetConfigCollectionEntity, UUID> {
+
+    /**
+     * Loads the collection and its ordered spreadsheet configs in a single query.
+     * The configs' own collections are then initialized by batch (see {@code @BatchSize} on
+     * {@link org.gridsuite.studyconfig.server.entities.SpreadsheetConfigEntity}), so reading a whole
+     * collection costs a fixed number of statements whatever its number of sheets and columns.
+     */
+    @EntityGraph(attributePaths = {"spreadsheetConfigs", "nodeAliases"})
+    Optional<SpreadsheetConfigCollectionEntity> findWithSpreadsheetConfigsById(UUID id);
+
+    /**
+     * Loads the collection with its node aliases, for the reads that take its configs from projections.
+     */
+    @EntityGraph(attributePaths = {"nodeAliases"})
+    Optional<SpreadsheetConfigCollectionEntity> findWithNodeAliasesById(UUID id);
 }
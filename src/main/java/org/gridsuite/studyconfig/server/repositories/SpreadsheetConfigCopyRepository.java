@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based copy of spreadsheet configs: the whole subtree (configs, node aliases, columns, column filters and
+ * global filters) is duplicated with INSERT ... SELECT statements, so the number of statements does not depend on
+ * the number of sheets or columns and no row goes through the JVM.
+ * <p>
+ * New identifiers are generated by the database. The old to new identifiers of the rows referenced by other rows
+ * (configs and column filters) are kept in spreadsheet_copy_mapping for the duration of the copy.
+ * Configs referencing a template (template_config_id) are copied as such: the copy references the same template.
+ * Must be called inside a transaction.
+ */
+@Repository
+public class SpreadsheetConfigCopyRepository {
+
+    private static final String CONFIGS_OF_COLLECTION = "c.collection_id = :sourceId";
+    private static final String SINGLE_CONFIG = "c.id = :sourceId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String randomUuidFunction;
+
+    public SpreadsheetConfigCopyRepository(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.randomUuidFunction = isPostgreSql(dataSource) ? "gen_random_uuid()" : "RANDOM_UUID()";
+    }
+
+    private static boolean isPostgreSql(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(productName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to determine the database product", e);
+        }
+    }
+
+    /**
+     * Copies a collection and all its configs, returns the id of the new collection.
+     */
+    public UUID copySpreadsheetConfigCollection(UUID sourceCollectionId) {
+        return insertCollectionCopy(sourceCollectionId, false);
+    }
+
+    /**
+     * Creates a collection whose configs reference the configs of the given template collection instead of copying
+     * their columns and global filters, returns the id of the new collection.
+     */
+    public UUID linkSpreadsheetConfigCollection(UUID templateCollectionId) {
+        return insertCollectionCopy(templateCollectionId, true);
+    }
+
+    private UUID insertCollectionCopy(UUID sourceCollectionId, boolean linkToSourceConfigs) {
+        UUID newCollectionId = UUID.randomUUID();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("copyId", UUID.randomUUID())
+                .addValue("sourceId", sourceCollectionId)
+                .addValue("newCollectionId", newCollectionId);
+
+        jdbcTemplate.update("INSERT INTO spreadsheet_config_collection (id) VALUES (:newCollectionId)", params);
+        jdbcTemplate.update("""
+                INSERT INTO node_aliases (spreadsheet_config_collection_entity_id, node_aliases)
+                SELECT :newCollectionId, a.node_aliases FROM node_aliases a
+                WHERE a.spreadsheet_config_collection_entity_id = :sourceId
+                """, params);
+        jdbcTemplate.update("""
+                INSERT INTO spreadsheet_copy_mapping (copy_id, old_id, new_id)
+                SELECT :copyId, c.id, %s FROM spreadsheet_config c WHERE %s
+                """.formatted(randomUuidFunction, CONFIGS_OF_COLLECTION), params);
+        jdbcTemplate.update("""
+                INSERT INTO spreadsheet_config (id, name, sheet_type, sort_column_id, sort_direction, formula_graph, template_config_id,
+                                                collection_id, config_order)
+                SELECT m.new_id, c.name, c.sheet_type, c.sort_column_id, c.sort_direction, c.formula_graph, %s, :newCollectionId, c.config_order
+                FROM spreadsheet_config c JOIN spreadsheet_copy_mapping m ON m.copy_id = :copyId AND m.old_id = c.id
+                """.formatted(linkToSourceConfigs ? "c.id" : "c.template_config_id"), params);
+        copyConfigNodeAliases(params);
+        if (!linkToSourceConfigs) {
+            copyColumnsAndGlobalFilters(params, CONFIGS_OF_COLLECTION);
+        }
+        releaseMapping(params);
+        return newCollectionId;
+    }
+
+    /**
+     * Copies a standalone config, returns the id of the new config.
+     */
+    public UUID copySpreadsheetConfig(UUID sourceConfigId) {
+        UUID newConfigId = UUID.randomUUID();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("copyId", UUID.randomUUID())
+                .addValue("sourceId", sourceConfigId)
+                .addValue("newConfigId", newConfigId);
+
+        jdbcTemplate.update("""
+                INSERT INTO spreadsheet_copy_mapping (copy_id, old_id, new_id)
+                SELECT :copyId, c.id, :newConfigId FROM spreadsheet_config c WHERE %s
+                """.formatted(SINGLE_CONFIG), params);
+        jdbcTemplate.update("""
+                INSERT INTO spreadsheet_config (id, name, sheet_type, sort_column_id, sort_direction, formula_graph, template_config_id)
+                SELECT m.new_id, c.name, c.sheet_type, c.sort_column_id, c.sort_direction, c.formula_graph, c.template_config_id
+                FROM spreadsheet_config c JOIN spreadsheet_copy_mapping m ON m.copy_id = :copyId AND m.old_id = c.id
+                """, params);
+        copyConfigNodeAliases(params);
+        copyColumnsAndGlobalFilters(params, SINGLE_CONFIG);
+        releaseMapping(params);
+        return newConfigId;
+    }
+
+    /**
+     * Gives a config referencing a template its own copy of the template columns and global filters, then drops the
+     * reference. Column uuids are derived from the template ones (see {@link #templateColumnUuid}), so the uuids
+     * returned to clients before the materialization stay valid.
+     */
+    public void materializeSpreadsheetConfig(UUID configId, UUID templateConfigId) {
+        UUID copyId = UUID.randomUUID();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("copyId", copyId)
+                .addValue("sourceId", templateConfigId)
+                .addValue("configId", configId);
+
+        jdbcTemplate.update("INSERT INTO spreadsheet_copy_mapping (copy_id, old_id, new_id) VALUES (:copyId, :sourceId, :configId)", params);
+        List<UUID> templateColumnUuids = jdbcTemplate.queryForList(
+                "SELECT uuid FROM spreadsheet_column WHERE spreadsheet_config_id = :sourceId", params, UUID.class);
+        jdbcTemplate.batchUpdate("INSERT INTO spreadsheet_copy_mapping (copy_id, old_id, new_id) VALUES (:copyId, :oldId, :newId)",
+                templateColumnUuids.stream()
+                        .map(uuid -> new MapSqlParameterSource()
+                                .addValue("copyId", copyId)
+                                .addValue("oldId", uuid)
+                                .addValue("newId", templateColumnUuid(configId, uuid)))
+                        .toArray(MapSqlParameterSource[]::new));
+        copyColumnsAndGlobalFilters(params, SINGLE_CONFIG);
+        jdbcTemplate.update("UPDATE spreadsheet_config SET template_config_id = NULL WHERE id = :configId", params);
+        releaseMapping(params);
+    }
+
+    /**
+     * Uuid under which a template column is exposed for a config referencing that template.
+     */
+    public static UUID templateColumnUuid(UUID configId, UUID templateColumnUuid) {
+        return UUID.nameUUIDFromBytes((configId.toString() + templateColumnUuid).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void copyConfigNodeAliases(MapSqlParameterSource params) {
+        jdbcTemplate.update("""
+                INSERT INTO config_node_aliases (spreadsheet_config_entity_id, node_aliases)
+                SELECT m.new_id, a.node_aliases
+                FROM config_node_aliases a JOIN spreadsheet_copy_mapping m ON m.copy_id = :copyId AND m.old_id = a.spreadsheet_config_entity_id
+                """, params);
+    }
+
+    /**
+     * Copies the columns, column filters and global filters of the source configs (selected by configCondition on
+     * alias c) whose new ids have already been registered in the mapping table. Columns get the new uuid registered
+     * for them in the mapping table if any, a random one otherwise.
+     */
+    private void copyColumnsAndGlobalFilters(MapSqlParameterSource params, String configCondition) {
+        jdbcTemplate.update("""
+                INSERT INTO spreadsheet_copy_mapping (copy_id, old_id, new_id)
+                SELECT :copyId, col.column_entity_column_filter_id, %s
+                FROM spreadsheet_column col JOIN spreadsheet_config c ON c.id = col.spreadsheet_config_id
+                WHERE %s AND col.column_entity_column_filter_id IS NOT NULL
+                """.formatted(randomUuidFunction, configCondition), params);
+        jdbcTemplate.update("""
+                INSERT INTO column_filter (uuid, filter_data_type, filter_type, filter_value, filter_tolerance)
+                SELECT m.new_id, f.filter_data_type, f.filter_type, f.filter_value, f.filter_tolerance
+                FROM column_filter f JOIN spreadsheet_copy_mapping m ON m.copy_id = :copyId AND m.old_id = f.uuid
+                """, params);
+        jdbcTemplate.update("""
+                INSERT INTO spreadsheet_column (uuid, name, type, precision, formula, dependencies, column_id, visible,
+                                                spreadsheet_config_id, column_order, column_entity_column_filter_id)
+                SELECT COALESCE(um.new_id, %s), col.name, col.type, col.precision, col.formula, col.dependencies, col.column_id,
+                       col.visible, cm.new_id, col.column_order, fm.new_id
+                FROM spreadsheet_column col
+                JOIN spreadsheet_copy_mapping cm ON cm.copy_id = :copyId AND cm.old_id = col.spreadsheet_config_id
+                LEFT JOIN spreadsheet_copy_mapping um ON um.copy_id = :copyId AND um.old_id = col.uuid
+                LEFT JOIN spreadsheet_copy_mapping fm ON fm.copy_id = :copyId AND fm.old_id = col.column_entity_column_filter_id
+                """.formatted(randomUuidFunction), params);
+        jdbcTemplate.update("""
+                INSERT INTO global_filter (id, filter_type, filter_subtype, label, unselected_date, uuid, equipment_type, path,
+                                           min_value, max_value, deleted, spreadsheet_config_id)
+                SELECT %s, g.filter_type, g.filter_subtype, g.label, g.unselected_date, g.uuid, g.equipment_type, g.path,
+                       g.min_value, g.max_value, g.deleted, m.new_id
+                FROM global_filter g JOIN spreadsheet_copy_mapping m ON m.copy_id = :copyId AND m.old_id = g.spreadsheet_config_id
+                """.formatted(randomUuidFunction), params);
+    }
+
+    private void releaseMapping(MapSqlParameterSource params) {
+        jdbcTemplate.update("DELETE FROM spreadsheet_copy_mapping WHERE copy_id = :copyId", params);
+    }
+}
@@ -6,15 +6,144 @@
  */
 package org.gridsuite.studyconfig.server.repositories;
 
+import jakarta.persistence.QueryHint;
 import org.gridsuite.studyconfig.server.entities.SpreadsheetConfigEntity;
+import org.gridsuite.studyconfig.server.formula.ColumnFormula;
+import org.gridsuite.studyconfig.server.repositories.projections.ColumnStateRow;
+import org.gridsuite.studyconfig.server.repositories.projections.ConfigMetadataRow;
+import org.gridsuite.studyconfig.server.repositories.projections.GlobalFilterRow;
+import org.gridsuite.studyconfig.server.repositories.projections.NodeAliasRow;
+import org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetColumnRow;
+import org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetConfigRow;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * @author Achour BERRAHMA <achour.berrahma at rte-france.com>
  */
 @Repository
 public interface SpreadsheetConfigRepository extends JpaRepository<SpreadsheetConfigEntity, UUID> {
+
+    /**
+     * Condition on config c matching the configs of the shared template collections, which are read-only.
+     */
+    String TEMPLATE_CONFIG = "exists (select 1 from SpreadsheetConfigTemplateEntity t, SpreadsheetConfigCollectionEntity tcol " +
+            "join tcol.spreadsheetConfigs tc where tcol.id = t.collectionId and tc.id = c.id)";
+    String NOT_TEMPLATE_CONFIG = "not " + TEMPLATE_CONFIG;
+
+    @Query("select c.templateConfigId from SpreadsheetConfigEntity c where c.id = :id and c.templateConfigId is not null")
+    Optional<UUID> findTemplateConfigIdById(@Param("id") UUID id);
+
+    @Query("select case when count(c) > 0 then true else false end from SpreadsheetConfigEntity c where c.id = :id and " + TEMPLATE_CONFIG)
+    boolean isTemplateConfig(@Param("id") UUID id);
+
+    @Query("select col.id from SpreadsheetConfigCollectionEntity col join col.spreadsheetConfigs c where c.id = :id")
+    List<UUID> findCollectionIdsByConfigId(@Param("id") UUID id);
+
+    @Query("select c.version from SpreadsheetConfigEntity c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update SpreadsheetConfigEntity c set c.version = c.version + 1, c.lastModified = :lastModified " +
+            "where c.id = :id and " + NOT_TEMPLATE_CONFIG)
+    int incrementVersion(@Param("id") UUID id, @Param("lastModified") Instant lastModified);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update SpreadsheetConfigEntity c set c.version = c.version + 1, c.lastModified = :lastModified " +
+            "where c.id = :id and c.version = :version and " + NOT_TEMPLATE_CONFIG)
+    int incrementVersion(@Param("id") UUID id, @Param("version") long version, @Param("lastModified") Instant lastModified);
+
+    @Query("select c.formulaGraph from SpreadsheetConfigEntity c where c.id = :id and c.formulaGraph is not null")
+    Optional<String> findFormulaGraphById(@Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update SpreadsheetConfigEntity c set c.formulaGraph = :formulaGraph where c.id = :id")
+    void updateFormulaGraph(@Param("id") UUID id, @Param("formulaGraph") String formulaGraph);
+
+    @Query("select new org.gridsuite.studyconfig.server.formula.ColumnFormula(col.id, col.formula, col.dependencies) " +
+            "from SpreadsheetConfigEntity c join c.columns col where c.id = :id order by index(col)")
+    List<ColumnFormula> findColumnFormulasByConfigId(@Param("id") UUID id);
+
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.ColumnStateRow(col.uuid, col.visible) " +
+            "from SpreadsheetConfigEntity c join c.columns col where c.id = :id order by index(col)")
+    List<ColumnStateRow> findColumnStateRowsByConfigId(@Param("id") UUID id);
+
+    @Query("select c.id from SpreadsheetConfigCollectionEntity col join col.spreadsheetConfigs c " +
+            "where col.id = :collectionId order by index(c)")
+    List<UUID> findConfigIdsByCollectionId(@Param("collectionId") UUID collectionId);
+
+    // Read-only projections: the rows below are assembled into DTOs without creating any managed entity
+
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.ConfigMetadataRow(c.id, c.sheetType) " +
+            "from SpreadsheetConfigEntity c where c.id in :ids")
+    List<ConfigMetadataRow> findMetadataRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // configs referencing a template count the columns and global filters of their template
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.ConfigMetadataRow(c.id, c.sheetType, " +
+            "(select count(col) from SpreadsheetConfigEntity sc join sc.columns col where sc.id = coalesce(c.templateConfigId, c.id)), " +
+            "(select count(f) from SpreadsheetConfigEntity sf join sf.globalFilters f where sf.id = coalesce(c.templateConfigId, c.id)), " +
+            "c.lastModified) " +
+            "from SpreadsheetConfigEntity c where c.id in :ids")
+    List<ConfigMetadataRow> findMetadataRowsWithAggregatesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetConfigRow(" +
+            "c.id, c.name, c.sheetType, c.sortColumnId, c.sortDirection, c.templateConfigId) " +
+            "from SpreadsheetConfigEntity c where c.id in :ids")
+    List<SpreadsheetConfigRow> findConfigRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetConfigRow(" +
+            "c.id, c.name, c.sheetType, c.sortColumnId, c.sortDirection, c.templateConfigId) " +
+            "from SpreadsheetConfigCollectionEntity col join col.spreadsheetConfigs c " +
+            "where col.id = :collectionId order by index(c)")
+    List<SpreadsheetConfigRow> findConfigRowsByCollectionId(@Param("collectionId") UUID collectionId);
+
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetConfigRow(" +
+            "c.id, c.name, c.sheetType, c.sortColumnId, c.sortDirection, c.templateConfigId) " +
+            "from SpreadsheetConfigEntity c where " + NOT_TEMPLATE_CONFIG + " order by c.id")
+    List<SpreadsheetConfigRow> findFirstConfigRows(Pageable pageable);
+
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetConfigRow(" +
+            "c.id, c.name, c.sheetType, c.sortColumnId, c.sortDirection, c.templateConfigId) " +
+            "from SpreadsheetConfigEntity c where c.id > :afterId and " + NOT_TEMPLATE_CONFIG + " order by c.id")
+    List<SpreadsheetConfigRow> findConfigRowsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Must be consumed inside a transaction: the fetch size hint makes the PostgreSQL driver use a
+     * server-side cursor instead of loading the whole result set in memory.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetConfigRow(" +
+            "c.id, c.name, c.sheetType, c.sortColumnId, c.sortDirection, c.templateConfigId) " +
+            "from SpreadsheetConfigEntity c where " + NOT_TEMPLATE_CONFIG + " order by c.id")
+    Stream<SpreadsheetConfigRow> streamAllConfigRows();
+
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetColumnRow(" +
+            "c.id, col.uuid, col.name, col.type, col.precision, col.formula, col.dependencies, col.id, col.visible, " +
+            "f.filterDataType, f.filterType, f.filterValue, f.filterTolerance) " +
+            "from SpreadsheetConfigEntity c join c.columns col left join col.columnFilter f " +
+            "where c.id in :configIds order by c.id, index(col)")
+    List<SpreadsheetColumnRow> findColumnRowsByConfigIdIn(@Param("configIds") Collection<UUID> configIds);
+
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.GlobalFilterRow(" +
+            "c.id, g.uuid, g.filterType, g.filterSubtype, g.label, g.unselectedDate, g.equipmentType, g.path, " +
+            "g.minValue, g.maxValue, g.deleted) " +
+            "from SpreadsheetConfigEntity c join c.globalFilters g where c.id in :configIds")
+    List<GlobalFilterRow> findGlobalFilterRowsByConfigIdIn(@Param("configIds") Collection<UUID> configIds);
+
+    @Query("select new org.gridsuite.studyconfig.server.repositories.projections.NodeAliasRow(c.id, a) " +
+            "from SpreadsheetConfigEntity c join c.nodeAliases a where c.id in :configIds")
+    List<NodeAliasRow> findNodeAliasRowsByConfigIdIn(@Param("configIds") Collection<UUID> configIds);
 }
@@ -0,0 +1,19 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories;
+
+import org.gridsuite.studyconfig.server.entities.SpreadsheetConfigTemplateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface SpreadsheetConfigTemplateRepository extends JpaRepository<SpreadsheetConfigTemplateEntity, String> {
+
+    boolean existsByCollectionId(UUID collectionId);
+}
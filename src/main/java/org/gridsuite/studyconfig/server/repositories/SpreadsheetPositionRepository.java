@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Batched updates of the order columns of spreadsheet columns and configs, touching only the given rows.
+ * Entities already loaded in the persistence context are not refreshed: callers must not load the rows they update.
+ */
+@Repository
+public class SpreadsheetPositionRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SpreadsheetPositionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void updateColumnPositions(Map<UUID, Integer> positions) {
+        updatePositions("UPDATE spreadsheet_column SET column_order = :position WHERE uuid = :id", positions);
+    }
+
+    public void updateConfigPositions(Map<UUID, Integer> positions) {
+        updatePositions("UPDATE spreadsheet_config SET config_order = :position WHERE id = :id", positions);
+    }
+
+    /**
+     * Attaches the given configs to a collection at the given positions.
+     */
+    public void attachConfigs(UUID collectionId, Map<UUID, Integer> positions) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE spreadsheet_config SET collection_id = :collectionId, config_order = :position WHERE id = :id",
+                positions.entrySet().stream()
+                        .map(entry -> new MapSqlParameterSource()
+                                .addValue("id", entry.getKey())
+                                .addValue("collectionId", collectionId)
+                                .addValue("position", entry.getValue()))
+                        .toArray(MapSqlParameterSource[]::new));
+    }
+
+    /**
+     * Updates both the position and the visibility of the given columns.
+     */
+    public void updateColumnStates(Map<UUID, Integer> positions, Map<UUID, Boolean> visibilities) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE spreadsheet_column SET column_order = :position, visible = :visible WHERE uuid = :id",
+                positions.entrySet().stream()
+                        .map(entry -> new MapSqlParameterSource()
+                                .addValue("id", entry.getKey())
+                                .addValue("position", entry.getValue())
+                                .addValue("visible", visibilities.get(entry.getKey())))
+                        .toArray(MapSqlParameterSource[]::new));
+    }
+
+    private void updatePositions(String sql, Map<UUID, Integer> positions) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, positions.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("id", entry.getKey())
+                        .addValue("position", entry.getValue()))
+                .toArray(MapSqlParameterSource[]::new));
+    }
+}
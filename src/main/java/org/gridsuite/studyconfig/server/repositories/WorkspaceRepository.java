@@ -23,4 +23,13 @@ public interface WorkspaceRepository extends JpaRepository<WorkspaceEntity, UUID
     @EntityGraph(attributePaths = {"panels"})
     @Override
     Optional<WorkspaceEntity> findById(UUID id);
+
+    /**
+     * One workspace of a config with its panels, subtype rows included, without loading the config nor its other
+     * workspaces.
+     */
+    @EntityGraph(attributePaths = {"panels"})
+    Optional<WorkspaceEntity> findWithPanelsByIdAndWorkspacesConfigId(UUID id, UUID workspacesConfigId);
+
+    boolean existsByIdAndWorkspacesConfigId(UUID id, UUID workspacesConfigId);
 }
@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * Position related state of a spreadsheet_column row, read in column order.
+ */
+public record ColumnStateRow(
+    UUID uuid,
+    Boolean visible
+) {
+}
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories.projections;
+
+import org.gridsuite.studyconfig.server.constants.SheetType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Metadata of a spreadsheet_config row, the aggregates being null when they have not been computed.
+ */
+public record ConfigMetadataRow(
+    UUID id,
+    SheetType sheetType,
+    Long columnCount,
+    Long globalFilterCount,
+    Instant lastModified
+) {
+    public ConfigMetadataRow(UUID id, SheetType sheetType) {
+        this(id, sheetType, null, null, null);
+    }
+}
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * Flat projection of a global_filter row attached to a spreadsheet config.
+ */
+public record GlobalFilterRow(
+    UUID configId,
+    UUID uuid,
+    String filterType,
+    String filterSubtype,
+    String label,
+    Double unselectedDate,
+    String equipmentType,
+    String path,
+    Integer minValue,
+    Integer maxValue,
+    Boolean deleted
+) {
+}
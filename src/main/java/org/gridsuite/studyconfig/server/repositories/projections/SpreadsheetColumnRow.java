@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories.projections;
+
+import org.gridsuite.studyconfig.server.constants.ColumnType;
+
+import java.util.UUID;
+
+/**
+ * Flat projection of a spreadsheet_column row joined with its optional column_filter.
+ */
+public record SpreadsheetColumnRow(
+    UUID configId,
+    UUID uuid,
+    String name,
+    ColumnType type,
+    Integer precision,
+    String formula,
+    String dependencies,
+    String id,
+    Boolean visible,
+    String filterDataType,
+    String filterType,
+    String filterValue,
+    Double filterTolerance
+) {
+
+    /**
+     * Same column seen from another config, used for configs sharing the columns of a template.
+     */
+    public SpreadsheetColumnRow withConfig(UUID otherConfigId, UUID otherUuid) {
+        return new SpreadsheetColumnRow(otherConfigId, otherUuid, name, type, precision, formula, dependencies, id, visible,
+                filterDataType, filterType, filterValue, filterTolerance);
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.repositories.projections;
+
+import org.gridsuite.studyconfig.server.constants.SheetType;
+import org.gridsuite.studyconfig.server.constants.SortDirection;
+
+import java.util.UUID;
+
+/**
+ * Flat projection of a spreadsheet_config row, read without hydrating the entity.
+ */
+public record SpreadsheetConfigRow(
+    UUID id,
+    String name,
+    SheetType sheetType,
+    String sortColumnId,
+    SortDirection sortDirection,
+    UUID templateConfigId
+) {
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.Resource;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Default configuration read from a JSON resource, parsed and validated once and then kept in memory.
+ * When reloadOnChange is set, the resource is parsed again the first time it is requested after its
+ * last modification date changed; a resource that can no longer be read or validated keeps the previous template.
+ */
+final class DefaultTemplate<T> {
+
+    /**
+     * Parsed template with the digest of the resource content it was parsed from.
+     */
+    record Snapshot<T>(T value, String version, long lastModified) { }
+
+    private final Resource resource;
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+    private final UnaryOperator<T> validator;
+    private final boolean reloadOnChange;
+    private volatile Snapshot<T> loaded;
+
+    /**
+     * @param validator checks the parsed value and returns the immutable form that is kept in memory,
+     *                  throws IllegalStateException if the resource content is not a valid template
+     */
+    DefaultTemplate(Resource resource, ObjectMapper objectMapper, Class<T> type, UnaryOperator<T> validator, boolean reloadOnChange) {
+        this.resource = resource;
+        this.objectMapper = objectMapper;
+        this.type = type;
+        this.validator = validator;
+        this.reloadOnChange = reloadOnChange;
+        this.loaded = load(lastModified());
+    }
+
+    T get() {
+        return snapshot().value();
+    }
+
+    Snapshot<T> snapshot() {
+        if (reloadOnChange) {
+            long lastModified = lastModified();
+            if (lastModified != loaded.lastModified()) {
+                reload(lastModified);
+            }
+        }
+        return loaded;
+    }
+
+    private synchronized void reload(long lastModified) {
+        if (lastModified == loaded.lastModified()) {
+            return;
+        }
+        try {
+            loaded = load(lastModified);
+        } catch (UncheckedIOException | IllegalStateException e) {
+            // keep serving the previous template, try again on the next modification
+            loaded = new Snapshot<>(loaded.value(), loaded.version(), lastModified);
+        }
+    }
+
+    private Snapshot<T> load(long lastModified) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            byte[] content = inputStream.readAllBytes();
+            return new Snapshot<>(validator.apply(objectMapper.readValue(content, type)), DigestUtils.md5DigestAsHex(content), lastModified);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read default template " + resource.getDescription(), e);
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
@@ -10,9 +10,12 @@ import lombok.RequiredArgsConstructor;
 import org.gridsuite.studyconfig.server.dto.NadPositionsGenerationMode;
 import org.gridsuite.studyconfig.server.dto.NetworkVisualizationParamInfos;
 import org.gridsuite.studyconfig.server.entities.NetworkVisualizationParamEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidatedEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationEvent;
 import org.gridsuite.studyconfig.server.mapper.NetworkVisualizationParamMapper;
 import org.gridsuite.studyconfig.server.repositories.NetworkVisualizationParamRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +31,7 @@ import java.util.UUID;
 public class NetworkVisualizationsParamService {
 
     private final NetworkVisualizationParamRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${study-config.nad-positions-generation-default-mode:}")
     private NadPositionsGenerationMode nadPositionsGenerationDefaultMode;
@@ -80,6 +84,7 @@ public class NetworkVisualizationsParamService {
     public void updateParameters(UUID id, NetworkVisualizationParamInfos dto) {
         NetworkVisualizationParamEntity entity = findEntityById(id);
         NetworkVisualizationParamMapper.updateEntity(entity, dto);
+        eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.NETWORK_VISUALIZATIONS_PARAMS, id));
     }
 
     @Transactional
@@ -88,6 +93,7 @@ public class NetworkVisualizationsParamService {
             throw notFoundException(id);
         }
         repository.deleteById(id);
+        eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.NETWORK_VISUALIZATIONS_PARAMS, id));
     }
 
     private NetworkVisualizationParamEntity findEntityById(UUID id) {
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.studyconfig.server.dto.workspace.PanelGeometryInfos;
+import org.gridsuite.studyconfig.server.dto.workspace.PanelInfos;
+import org.gridsuite.studyconfig.server.invalidation.InvalidatedEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationEvent;
+import org.gridsuite.studyconfig.server.repositories.PanelLayoutRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Coalescing buffer of the geometry updates of panels, sent at a high rate while panels are dragged or resized.
+ * Updates are accepted without touching the database, each one replacing the pending geometry of its panel, and the
+ * latest geometries are written by batch every flush interval and on shutdown. Reads of this replica see the pending
+ * geometries, the other replicas see them once flushed.
+ * <p>
+ * Other modifications of panels must flush the pending geometries of their workspaces before loading them, and discard
+ * the pending geometries of the panels they write, so that a later flush does not overwrite their changes with an older
+ * geometry. A flush writes in the caller's transaction, or in a new one without any, and the flushed geometries stay
+ * pending until it commits. A panel whose geometry is being flushed by a transaction not yet completed is skipped by
+ * the other flushes, so that an older geometry never overwrites a newer one and flushes never wait for each other.
+ */
+@Component
+public class PanelGeometryBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PanelGeometryBuffer.class);
+
+    private record PendingGeometry(UUID configId, UUID workspaceId, PanelGeometryInfos geometry) {
+        UUID panelId() {
+            return geometry.id();
+        }
+    }
+
+    private final PanelLayoutRepository panelLayoutRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration flushInterval;
+
+    // by panel id
+    private final Map<UUID, PendingGeometry> pendingGeometries = new ConcurrentHashMap<>();
+    // panels whose geometry is written by a transaction not yet completed, guarded by flushLock
+    private final Set<UUID> flushingPanelIds = new HashSet<>();
+    private final Lock flushLock = new ReentrantLock();
+    private ScheduledExecutorService flushExecutor;
+
+    public PanelGeometryBuffer(PanelLayoutRepository panelLayoutRepository,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${study-config.panel-geometry-buffer.enabled:true}") boolean enabled,
+                               @Value("${study-config.panel-geometry-buffer.flush-interval:500ms}") Duration flushInterval) {
+        this.panelLayoutRepository = panelLayoutRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "panel-geometry-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushExecutor.scheduleWithFixedDelay(this::flushAllQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+            flushExecutor.awaitTermination(flushInterval.toMillis() + 5000, TimeUnit.MILLISECONDS);
+        }
+        flushAll();
+    }
+
+    /**
+     * Buffers the geometries of panels of a workspace, or writes them at once when the buffer is disabled.
+     */
+    public void add(UUID configId, UUID workspaceId, List<PanelGeometryInfos> geometries) {
+        if (!enabled) {
+            transactionTemplate.executeWithoutResult(status ->
+                    write(geometries.stream().map(geometry -> new PendingGeometry(configId, workspaceId, geometry)).toList()));
+            return;
+        }
+        geometries.forEach(geometry -> pendingGeometries.put(geometry.id(), new PendingGeometry(configId, workspaceId, geometry)));
+    }
+
+    /**
+     * Replaces the geometry of the given panels of a workspace by their pending one, if any.
+     */
+    public void applyPendingGeometries(UUID workspaceId, List<? extends PanelInfos> panels) {
+        panels.forEach(panel -> {
+            PendingGeometry pending = pendingGeometries.get(panel.getId());
+            if (pending != null && pending.workspaceId().equals(workspaceId)) {
+                panel.setPosition(pending.geometry().position());
+                panel.setSize(pending.geometry().size());
+            }
+        });
+    }
+
+    /**
+     * Drops the pending geometries of panels of a workspace, which are about to be written with their whole values
+     * in the current transaction. They are pending again if that transaction does not commit.
+     */
+    public void discard(UUID workspaceId, Collection<UUID> panelIds) {
+        List<PendingGeometry> discarded = new ArrayList<>();
+        panelIds.forEach(panelId -> pendingGeometries.computeIfPresent(panelId, (id, pending) -> {
+            if (!pending.workspaceId().equals(workspaceId)) {
+                return pending;
+            }
+            discarded.add(pending);
+            return null;
+        }));
+        if (!discarded.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        // unless replaced in the meantime
+                        discarded.forEach(pending -> pendingGeometries.putIfAbsent(pending.panelId(), pending));
+                    }
+                }
+            });
+        }
+    }
+
+    public void flushWorkspace(UUID workspaceId) {
+        flush(pending -> pending.workspaceId().equals(workspaceId));
+    }
+
+    public void flushWorkspaces(Collection<UUID> workspaceIds) {
+        Set<UUID> flushedWorkspaceIds = new HashSet<>(workspaceIds);
+        flush(pending -> flushedWorkspaceIds.contains(pending.workspaceId()));
+    }
+
+    public void flushWorkspacesConfig(UUID configId) {
+        flush(pending -> pending.configId().equals(configId));
+    }
+
+    public void flushAll() {
+        flush(pending -> true);
+    }
+
+    private void flushAllQuietly() {
+        try {
+            flushAll();
+        } catch (RuntimeException e) {
+            // the geometries stay pending until the next flush
+            LOGGER.warn("Failed to flush {} panel geometries", pendingGeometries.size(), e);
+        }
+    }
+
+    /**
+     * Writes the selected pending geometries in the current transaction, or in a new one without any. They are
+     * removed from the buffer once that transaction commits, unless replaced in the meantime.
+     */
+    private void flush(Predicate<PendingGeometry> filter) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<PendingGeometry> flushed;
+            flushLock.lock();
+            try {
+                flushed = pendingGeometries.values().stream()
+                        .filter(pending -> !flushingPanelIds.contains(pending.panelId()) && filter.test(pending))
+                        // same order for all the flushes, for their row locks
+                        .sorted(Comparator.comparing(PendingGeometry::panelId))
+                        .toList();
+                flushed.forEach(pending -> flushingPanelIds.add(pending.panelId()));
+            } finally {
+                flushLock.unlock();
+            }
+            if (flushed.isEmpty()) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        flushed.forEach(pending -> pendingGeometries.remove(pending.panelId(), pending));
+                    }
+                    flushLock.lock();
+                    try {
+                        flushed.forEach(pending -> flushingPanelIds.remove(pending.panelId()));
+                    } finally {
+                        flushLock.unlock();
+                    }
+                }
+            });
+            write(flushed);
+        });
+    }
+
+    private void write(List<PendingGeometry> geometries) {
+        panelLayoutRepository.updateGeometries(geometries.stream()
+                .collect(Collectors.groupingBy(PendingGeometry::workspaceId, LinkedHashMap::new,
+                        Collectors.mapping(PendingGeometry::geometry, Collectors.toList()))));
+        geometries.stream()
+                .collect(Collectors.groupingBy(PendingGeometry::configId,
+                        Collectors.mapping(PendingGeometry::workspaceId, Collectors.toSet())))
+                .forEach((configId, workspaceIds) -> eventPublisher.publishEvent(
+                        InvalidationEvent.of(InvalidatedEntity.WORKSPACES_CONFIG, configId)
+                                .and(InvalidatedEntity.WORKSPACE, workspaceIds)));
+    }
+}
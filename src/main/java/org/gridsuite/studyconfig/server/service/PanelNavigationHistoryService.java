@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.service;
+
+import org.gridsuite.studyconfig.server.dto.workspace.NADPanelInfos;
+import org.gridsuite.studyconfig.server.dto.workspace.PanelInfos;
+import org.gridsuite.studyconfig.server.dto.workspace.SLDPanelInfos;
+import org.gridsuite.studyconfig.server.entities.workspace.PanelEntity;
+import org.gridsuite.studyconfig.server.repositories.PanelNavigationHistoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Navigation histories of the NAD and SLD panels, stored apart from the panels: panel updates neither carry nor
+ * rewrite them, a new panel only giving its initial history.
+ */
+@Service
+public class PanelNavigationHistoryService {
+
+    private final PanelNavigationHistoryRepository panelNavigationHistoryRepository;
+    private final int maxLength;
+
+    public PanelNavigationHistoryService(PanelNavigationHistoryRepository panelNavigationHistoryRepository,
+                                         @Value("${study-config.navigation-history.max-length:50}") int maxLength) {
+        this.panelNavigationHistoryRepository = panelNavigationHistoryRepository;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Sets the navigation history of the given NAD and SLD panels.
+     */
+    public void fillNavigationHistories(List<? extends PanelInfos> panels) {
+        Map<UUID, List<String>> histories = panelNavigationHistoryRepository.findByPanelIds(panels.stream()
+            .filter(panel -> panel instanceof NADPanelInfos || panel instanceof SLDPanelInfos)
+            .map(PanelInfos::getId)
+            .toList());
+        panels.forEach(panel -> {
+            List<String> history = histories.getOrDefault(panel.getId(), new ArrayList<>());
+            switch (panel) {
+                case NADPanelInfos nad -> nad.setNavigationHistory(history);
+                case SLDPanelInfos sld -> sld.setNavigationHistory(history);
+                default -> {
+                    // no navigation history
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes the navigation history of the given panels, new or duplicated, once their rows are flushed.
+     */
+    public void saveNavigationHistories(Collection<PanelEntity> panels) {
+        Map<UUID, List<String>> initialHistories = new HashMap<>();
+        Map<UUID, UUID> sourcePanelIds = new HashMap<>();
+        panels.forEach(panel -> {
+            if (panel.getDuplicatedFromId() != null) {
+                sourcePanelIds.put(panel.getId(), panel.getDuplicatedFromId());
+            } else if (panel.getInitialNavigationHistory() != null && !panel.getInitialNavigationHistory().isEmpty()) {
+                initialHistories.put(panel.getId(), panel.getInitialNavigationHistory());
+            }
+            panel.setDuplicatedFromId(null);
+            panel.setInitialNavigationHistory(null);
+        });
+        panelNavigationHistoryRepository.insertAll(initialHistories, maxLength);
+        panelNavigationHistoryRepository.copyAll(sourcePanelIds);
+    }
+
+    /**
+     * @return false if the panel is not found or has no navigation history
+     */
+    public boolean append(UUID configId, UUID workspaceId, UUID panelId, String voltageLevelId) {
+        return panelNavigationHistoryRepository.append(configId, workspaceId, panelId, voltageLevelId, maxLength);
+    }
+
+    /**
+     * @return false if the panel is not found or its navigation history is empty
+     */
+    public boolean removeLast(UUID configId, UUID workspaceId, UUID panelId) {
+        return panelNavigationHistoryRepository.removeLast(configId, workspaceId, panelId);
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.service;
+
+import java.util.*;
+
+/**
+ * Linear time reordering of the children of an ordered list (columns of a config, configs of a collection),
+ * based on position maps instead of List.indexOf.
+ */
+final class ReorderEngine {
+
+    private ReorderEngine() {
+    }
+
+    /**
+     * Orders currentOrder following requestedOrder. Ids absent from requestedOrder come first, in their current order,
+     * like a stable sort on requestedOrder.indexOf would do. Ids of requestedOrder absent from currentOrder are ignored.
+     */
+    static List<UUID> reorder(List<UUID> currentOrder, List<UUID> requestedOrder) {
+        Map<UUID, Integer> requestedPositions = HashMap.newHashMap(requestedOrder.size());
+        for (int i = 0; i < requestedOrder.size(); i++) {
+            requestedPositions.putIfAbsent(requestedOrder.get(i), i);
+        }
+        UUID[] requestedSlots = new UUID[requestedOrder.size()];
+        List<UUID> newOrder = new ArrayList<>(currentOrder.size());
+        for (UUID id : currentOrder) {
+            Integer position = requestedPositions.get(id);
+            if (position == null) {
+                newOrder.add(id);
+            } else {
+                requestedSlots[position] = id;
+            }
+        }
+        for (UUID id : requestedSlots) {
+            if (id != null) {
+                newOrder.add(id);
+            }
+        }
+        return newOrder;
+    }
+
+    /**
+     * Returns the new position of the ids whose position differs between the two orders of the same ids.
+     */
+    static Map<UUID, Integer> movedPositions(List<UUID> currentOrder, List<UUID> newOrder) {
+        Map<UUID, Integer> moved = new LinkedHashMap<>();
+        for (int i = 0; i < newOrder.size(); i++) {
+            if (!newOrder.get(i).equals(currentOrder.get(i))) {
+                moved.put(newOrder.get(i), i);
+            }
+        }
+        return moved;
+    }
+}
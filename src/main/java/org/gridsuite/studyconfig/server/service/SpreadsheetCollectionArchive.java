@@ -0,0 +1,394 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.service;
+
+import org.gridsuite.studyconfig.server.constants.ColumnType;
+import org.gridsuite.studyconfig.server.constants.SheetType;
+import org.gridsuite.studyconfig.server.dto.ColumnFilterInfos;
+import org.gridsuite.studyconfig.server.dto.GlobalFilterInfos;
+import org.gridsuite.studyconfig.server.dto.SortConfig;
+import org.gridsuite.studyconfig.server.dto.SpreadsheetColumnInfos;
+import org.gridsuite.studyconfig.server.dto.SpreadsheetConfigInfos;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary export format of a spreadsheet config collection, written and read one config at a time.
+ * <p>
+ * Header: the "SCCA" magic, the format version and a flags byte (bit 0: the rest of the stream is deflated).
+ * Body: the collection node aliases, then each config preceded by a CONFIG tag, then an END tag. Counts and lengths
+ * are unsigned varints. Strings are interned: the first occurrence of a string is written in full and gets the next
+ * index of the string table, the following ones only write that index, so formulas or labels repeated across sheets
+ * are stored once. Enums are written as interned strings and column uuids are not exported: they are generated again
+ * on import.
+ */
+final class SpreadsheetCollectionArchive {
+
+    private static final byte[] MAGIC = {'S', 'C', 'C', 'A'};
+    static final int FORMAT_VERSION = 1;
+    private static final int FLAG_DEFLATE = 1;
+
+    private static final int END = 0;
+    private static final int CONFIG = 1;
+
+    // string references: NULL_STRING, NEW_STRING followed by the string, or FIRST_STRING_INDEX + index in the table
+    private static final int NULL_STRING = 0;
+    private static final int NEW_STRING = 1;
+    private static final int FIRST_STRING_INDEX = 2;
+
+    private static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+    private static final int MAX_COUNT = 1_000_000;
+
+    private SpreadsheetCollectionArchive() {
+    }
+
+    static Writer write(OutputStream outputStream, boolean compress) {
+        try {
+            outputStream.write(MAGIC);
+            outputStream.write(FORMAT_VERSION);
+            outputStream.write(compress ? FLAG_DEFLATE : 0);
+            return new Writer(compress ? new DeflaterOutputStream(outputStream) : outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @throws ResponseStatusException BAD_REQUEST if the stream does not start with a supported header
+     */
+    static Reader read(InputStream inputStream) {
+        try {
+            byte[] magic = inputStream.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw invalidArchive("not a spreadsheet config collection archive");
+            }
+            int version = inputStream.read();
+            if (version != FORMAT_VERSION) {
+                throw invalidArchive("unsupported format version " + version);
+            }
+            int flags = inputStream.read();
+            if (flags < 0) {
+                throw invalidArchive("truncated header");
+            }
+            InputStream body = (flags & FLAG_DEFLATE) != 0 ? new InflaterInputStream(inputStream) : inputStream;
+            return new Reader(new DataInputStream(new BufferedInputStream(body)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ResponseStatusException invalidArchive(String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid spreadsheet config collection archive: " + reason);
+    }
+
+    static final class Writer {
+
+        private final OutputStream target;
+        private final DataOutputStream output;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(OutputStream target) {
+            this.target = target;
+            this.output = new DataOutputStream(new BufferedOutputStream(target));
+        }
+
+        void writeNodeAliases(List<String> nodeAliases) {
+            try {
+                writeStrings(nodeAliases);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeConfig(SpreadsheetConfigInfos config) {
+            try {
+                writeVarInt(CONFIG);
+                writeString(config.name());
+                writeString(config.sheetType() != null ? config.sheetType().name() : null);
+                output.writeBoolean(config.sortConfig() != null);
+                if (config.sortConfig() != null) {
+                    writeString(config.sortConfig().colId());
+                    writeString(config.sortConfig().sort());
+                }
+                writeStrings(config.nodeAliases());
+                List<SpreadsheetColumnInfos> columns = config.columns() != null ? config.columns() : List.of();
+                writeVarInt(columns.size());
+                for (SpreadsheetColumnInfos column : columns) {
+                    writeColumn(column);
+                }
+                List<GlobalFilterInfos> globalFilters = config.globalFilters() != null ? config.globalFilters() : List.of();
+                writeVarInt(globalFilters.size());
+                for (GlobalFilterInfos globalFilter : globalFilters) {
+                    writeGlobalFilter(globalFilter);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Writes the end tag and flushes, without closing the underlying stream.
+         */
+        void finish() {
+            try {
+                writeVarInt(END);
+                output.flush();
+                if (target instanceof DeflaterOutputStream deflaterOutputStream) {
+                    deflaterOutputStream.finish();
+                }
+                target.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeColumn(SpreadsheetColumnInfos column) throws IOException {
+            writeString(column.name());
+            writeString(column.type() != null ? column.type().name() : null);
+            writeNullableInt(column.precision());
+            writeString(column.formula());
+            writeString(column.dependencies());
+            writeString(column.id());
+            output.writeBoolean(Boolean.TRUE.equals(column.visible()));
+            ColumnFilterInfos filter = column.columnFilterInfos();
+            output.writeBoolean(filter != null);
+            if (filter != null) {
+                writeString(filter.filterDataType());
+                writeString(filter.filterType());
+                writeString(filter.filterValue());
+                writeNullableDouble(filter.filterTolerance());
+            }
+        }
+
+        private void writeGlobalFilter(GlobalFilterInfos filter) throws IOException {
+            output.writeBoolean(filter.uuid() != null);
+            if (filter.uuid() != null) {
+                output.writeLong(filter.uuid().getMostSignificantBits());
+                output.writeLong(filter.uuid().getLeastSignificantBits());
+            }
+            writeString(filter.filterType());
+            writeString(filter.filterSubtype());
+            writeString(filter.label());
+            writeNullableDouble(filter.unselectedDate());
+            writeString(filter.equipmentType());
+            writeString(filter.path());
+            writeNullableInt(filter.minValue());
+            writeNullableInt(filter.maxValue());
+            output.writeBoolean(filter.deleted());
+        }
+
+        private void writeStrings(List<String> values) throws IOException {
+            output.writeBoolean(values != null);
+            if (values != null) {
+                writeVarInt(values.size());
+                for (String value : values) {
+                    writeString(value);
+                }
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarInt(NULL_STRING);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(FIRST_STRING_INDEX + index);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(NEW_STRING);
+            writeVarInt(bytes.length);
+            output.write(bytes);
+        }
+
+        private void writeNullableInt(Integer value) throws IOException {
+            output.writeBoolean(value != null);
+            if (value != null) {
+                output.writeInt(value);
+            }
+        }
+
+        private void writeNullableDouble(Double value) throws IOException {
+            output.writeBoolean(value != null);
+            if (value != null) {
+                output.writeDouble(value);
+            }
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                output.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            output.writeByte(remaining);
+        }
+    }
+
+    static final class Reader {
+
+        private final DataInputStream input;
+        private final List<String> strings = new ArrayList<>();
+
+        private Reader(DataInputStream input) {
+            this.input = input;
+        }
+
+        List<String> readNodeAliases() {
+            try {
+                return readStrings();
+            } catch (IOException e) {
+                throw invalidArchive(e);
+            }
+        }
+
+        /**
+         * @return the next config, null when all the configs have been read
+         */
+        SpreadsheetConfigInfos readConfig() {
+            try {
+                int tag = readVarInt();
+                if (tag == END) {
+                    return null;
+                }
+                if (tag != CONFIG) {
+                    throw invalidArchive("unexpected tag " + tag);
+                }
+                String name = readString();
+                SheetType sheetType = readEnum(SheetType.class);
+                SortConfig sortConfig = input.readBoolean() ? new SortConfig(readString(), readString()) : null;
+                List<String> nodeAliases = readStrings();
+                int columnCount = readCount();
+                List<SpreadsheetColumnInfos> columns = new ArrayList<>(columnCount);
+                for (int i = 0; i < columnCount; i++) {
+                    columns.add(readColumn());
+                }
+                int globalFilterCount = readCount();
+                List<GlobalFilterInfos> globalFilters = new ArrayList<>(globalFilterCount);
+                for (int i = 0; i < globalFilterCount; i++) {
+                    globalFilters.add(readGlobalFilter());
+                }
+                return new SpreadsheetConfigInfos(null, name, sheetType, columns, globalFilters, nodeAliases, sortConfig);
+            } catch (IOException e) {
+                throw invalidArchive(e);
+            }
+        }
+
+        private SpreadsheetColumnInfos readColumn() throws IOException {
+            String name = readString();
+            ColumnType type = readEnum(ColumnType.class);
+            Integer precision = readNullableInt();
+            String formula = readString();
+            String dependencies = readString();
+            String id = readString();
+            boolean visible = input.readBoolean();
+            ColumnFilterInfos filter = input.readBoolean()
+                    ? new ColumnFilterInfos(readString(), readString(), readString(), readNullableDouble())
+                    : null;
+            return new SpreadsheetColumnInfos(null, name, type, precision, formula, dependencies, id, visible, filter);
+        }
+
+        private GlobalFilterInfos readGlobalFilter() throws IOException {
+            return GlobalFilterInfos.builder()
+                    .uuid(input.readBoolean() ? new UUID(input.readLong(), input.readLong()) : null)
+                    .filterType(readString())
+                    .filterSubtype(readString())
+                    .label(readString())
+                    .unselectedDate(readNullableDouble())
+                    .equipmentType(readString())
+                    .path(readString())
+                    .minValue(readNullableInt())
+                    .maxValue(readNullableInt())
+                    .deleted(input.readBoolean())
+                    .build();
+        }
+
+        private List<String> readStrings() throws IOException {
+            if (!input.readBoolean()) {
+                return null;
+            }
+            int count = readCount();
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        private String readString() throws IOException {
+            int reference = readVarInt();
+            if (reference == NULL_STRING) {
+                return null;
+            }
+            if (reference == NEW_STRING) {
+                int length = readVarInt();
+                if (length > MAX_STRING_LENGTH) {
+                    throw invalidArchive("string of " + length + " bytes");
+                }
+                String value = new String(input.readNBytes(length), StandardCharsets.UTF_8);
+                strings.add(value);
+                return value;
+            }
+            int index = reference - FIRST_STRING_INDEX;
+            if (index >= strings.size()) {
+                throw invalidArchive("unknown string reference " + index);
+            }
+            return strings.get(index);
+        }
+
+        private <E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+            String name = readString();
+            try {
+                return name != null ? Enum.valueOf(type, name) : null;
+            } catch (IllegalArgumentException e) {
+                throw invalidArchive("unknown " + type.getSimpleName() + " " + name);
+            }
+        }
+
+        private Integer readNullableInt() throws IOException {
+            return input.readBoolean() ? input.readInt() : null;
+        }
+
+        private Double readNullableDouble() throws IOException {
+            return input.readBoolean() ? input.readDouble() : null;
+        }
+
+        private int readCount() throws IOException {
+            int count = readVarInt();
+            if (count > MAX_COUNT) {
+                throw invalidArchive("count of " + count + " elements");
+            }
+            return count;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = input.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw invalidArchive("malformed varint");
+        }
+
+        private static ResponseStatusException invalidArchive(IOException e) {
+            return e instanceof EOFException ? SpreadsheetCollectionArchive.invalidArchive("truncated content")
+                    : new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to read spreadsheet config collection archive", e);
+        }
+    }
+}
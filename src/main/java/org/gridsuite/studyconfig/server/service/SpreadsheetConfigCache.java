@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.studyconfig.server.configuration.CacheConfiguration;
+import org.gridsuite.studyconfig.server.dto.SpreadsheetConfigCollectionInfos;
+import org.gridsuite.studyconfig.server.invalidation.InvalidatedEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationBus;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationEvent;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationListener;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of spreadsheet config (with their version) and collection DTOs, stored serialized so that cached values can neither
+ * be modified by callers nor hide their real size.
+ * <p>
+ * Entries are evicted by the {@link InvalidationBus}, once the transactions modifying them are committed, whether they
+ * ran on this replica or on another one. A value loaded while an eviction happens may have been read
+ * before the modification was committed: it is only stored if no eviction happened since its loading started.
+ */
+@Component
+public class SpreadsheetConfigCache implements InvalidationListener {
+
+    private final Cache configs;
+    private final Cache collections;
+    private final ObjectMapper objectMapper;
+
+    // incremented by each eviction, guarded by this
+    private long evictions;
+
+    public SpreadsheetConfigCache(CacheManager cacheManager, ObjectMapper objectMapper, InvalidationBus invalidationBus) {
+        this.configs = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.SPREADSHEET_CONFIGS_CACHE));
+        this.collections = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.SPREADSHEET_CONFIG_COLLECTIONS_CACHE));
+        this.objectMapper = objectMapper;
+        invalidationBus.subscribe(this);
+    }
+
+    public VersionedSpreadsheetConfig getConfig(UUID id, Supplier<VersionedSpreadsheetConfig> loader) {
+        return get(configs, id, VersionedSpreadsheetConfig.class, loader);
+    }
+
+    public SpreadsheetConfigCollectionInfos getCollection(UUID id, Supplier<SpreadsheetConfigCollectionInfos> loader) {
+        return get(collections, id, SpreadsheetConfigCollectionInfos.class, loader);
+    }
+
+    @Override
+    public synchronized void onInvalidation(InvalidationEvent event) {
+        evictions++;
+        event.ids(InvalidatedEntity.SPREADSHEET_CONFIG).forEach(configs::evict);
+        event.ids(InvalidatedEntity.SPREADSHEET_CONFIG_COLLECTION).forEach(collections::evict);
+    }
+
+    @Override
+    public synchronized void onInvalidationsMissed() {
+        evictions++;
+        configs.clear();
+        collections.clear();
+    }
+
+    private <T> T get(Cache cache, UUID id, Class<T> type, Supplier<T> loader) {
+        try {
+            byte[] cached = cache.get(id, byte[].class);
+            if (cached != null) {
+                return objectMapper.readValue(cached, type);
+            }
+            long loadingEvictions = getEvictions();
+            T value = loader.get();
+            putIfNotEvicted(cache, id, objectMapper.writeValueAsBytes(value), loadingEvictions);
+            return value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private synchronized void putIfNotEvicted(Cache cache, UUID id, byte[] value, long loadingEvictions) {
+        if (evictions == loadingEvictions) {
+            cache.put(id, value);
+        }
+    }
+}
@@ -7,25 +7,53 @@
 package org.gridsuite.studyconfig.server.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.tuple.Pair;
+import org.gridsuite.studyconfig.server.constants.ColumnOperationType;
 import org.gridsuite.studyconfig.server.constants.SortDirection;
 import org.gridsuite.studyconfig.server.dto.*;
 import org.gridsuite.studyconfig.server.entities.*;
+import org.gridsuite.studyconfig.server.formula.ColumnFormula;
+import org.gridsuite.studyconfig.server.formula.FormulaGraph;
+import org.gridsuite.studyconfig.server.formula.FormulaGraphCompiler;
+import org.gridsuite.studyconfig.server.formula.InvalidFormulaException;
+import org.gridsuite.studyconfig.server.invalidation.InvalidatedEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationEvent;
 import org.gridsuite.studyconfig.server.mapper.SpreadsheetConfigMapper;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetColumnRepository;
 import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigCollectionRepository;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigCopyRepository;
 import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigRepository;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigTemplateRepository;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetPositionRepository;
+import org.gridsuite.studyconfig.server.repositories.projections.ColumnStateRow;
+import org.gridsuite.studyconfig.server.repositories.projections.GlobalFilterRow;
+import org.gridsuite.studyconfig.server.repositories.projections.NodeAliasRow;
+import org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetColumnRow;
+import org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetConfigRow;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Achour BERRAHMA <achour.berrahma at rte-france.com>
@@ -36,24 +64,52 @@ public class SpreadsheetConfigService {
 
     private final SpreadsheetConfigRepository spreadsheetConfigRepository;
     private final SpreadsheetConfigCollectionRepository spreadsheetConfigCollectionRepository;
+    private final SpreadsheetConfigCopyRepository spreadsheetConfigCopyRepository;
+    private final SpreadsheetConfigTemplateRepository spreadsheetConfigTemplateRepository;
+    private final SpreadsheetPositionRepository spreadsheetPositionRepository;
+    private final SpreadsheetColumnRepository spreadsheetColumnRepository;
     private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final SpreadsheetConfigCache spreadsheetConfigCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("classpath:default-spreadsheet-config-collection.json")
     private Resource defaultSpreadsheetConfigCollectionResource;
 
+    @Value("${study-config.default-templates.reload-on-change:false}")
+    private boolean reloadDefaultTemplates;
+
+    @Value("${study-config.default-templates.share-spreadsheet-collection:false}")
+    private boolean shareDefaultSpreadsheetConfigCollection;
+
+    private DefaultTemplate<SpreadsheetConfigCollectionInfos> defaultSpreadsheetConfigCollection;
+
     private static final String SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND = "SpreadsheetConfigCollection not found with id: ";
     private static final String COLUMN_NOT_FOUND = "Column not found with id: ";
+    private static final int PROJECTION_CHUNK_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
 
     @Transactional
     public UUID createSpreadsheetConfig(SpreadsheetConfigInfos dto) {
-        SpreadsheetConfigEntity entity = SpreadsheetConfigMapper.toEntity(dto);
+        SpreadsheetConfigEntity entity = toConfigEntity(dto);
         return spreadsheetConfigRepository.save(entity).getId();
     }
 
     @Transactional
     public UUID duplicateSpreadsheetConfig(UUID id) {
-        SpreadsheetConfigEntity duplicate = duplicateSpreadsheetConfigEntity(id);
-        return spreadsheetConfigRepository.save(duplicate).getId();
+        if (!spreadsheetConfigRepository.existsById(id)) {
+            throw notFoundException(id);
+        }
+        return spreadsheetConfigCopyRepository.copySpreadsheetConfig(id);
+    }
+
+    /**
+     * Reads the given configs in one query, so that {@link #duplicateSpreadsheetConfigEntity} then finds them in the
+     * persistence context and their columns, filters and aliases are fetched by batch.
+     */
+    private void loadSpreadsheetConfigs(Collection<UUID> ids) {
+        spreadsheetConfigRepository.findAllById(ids);
     }
 
     private SpreadsheetConfigEntity duplicateSpreadsheetConfigEntity(UUID id) {
@@ -61,6 +117,8 @@ public class SpreadsheetConfigService {
         SpreadsheetConfigEntity duplicate = SpreadsheetConfigEntity.builder()
                 .name(entity.getName())
                 .sheetType(entity.getSheetType())
+                .templateConfigId(entity.getTemplateConfigId())
+                .formulaGraph(entity.getFormulaGraph())
                 .build();
         if (entity.getNodeAliases() != null) {
             duplicate.setNodeAliases(new ArrayList<>(entity.getNodeAliases()));
@@ -84,90 +142,307 @@ public class SpreadsheetConfigService {
 
     @Transactional(readOnly = true)
     public SpreadsheetConfigInfos getSpreadsheetConfig(UUID id) {
-        return SpreadsheetConfigMapper.toDto(findEntityById(id));
+        return getVersionedSpreadsheetConfig(id).config();
     }
 
     @Transactional(readOnly = true)
-    public List<SpreadsheetConfigInfos> getAllSpreadsheetConfigs() {
-        return spreadsheetConfigRepository.findAll()
+    public VersionedSpreadsheetConfig getVersionedSpreadsheetConfig(UUID id) {
+        return spreadsheetConfigCache.getConfig(id, () -> {
+            // version read before the content: a concurrent modification can only make the version older than the
+            // content, which leads to a spurious 412 on the next conditional write but never to a lost update
+            long version = spreadsheetConfigRepository.findVersionById(id).orElseThrow(() -> notFoundException(id));
+            List<SpreadsheetConfigInfos> configs = readSpreadsheetConfigs(spreadsheetConfigRepository.findConfigRowsByIdIn(List.of(id)));
+            if (configs.isEmpty()) {
+                throw notFoundException(id);
+            }
+            return new VersionedSpreadsheetConfig(version, configs.getFirst());
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public SpreadsheetConfigPageInfos getSpreadsheetConfigsPage(UUID afterId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // Fetch one extra row to know whether there is a next page
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        List<SpreadsheetConfigRow> configRows = afterId == null
+                ? spreadsheetConfigRepository.findFirstConfigRows(pageable)
+                : spreadsheetConfigRepository.findConfigRowsAfter(afterId, pageable);
+        boolean hasNext = configRows.size() > size;
+        List<SpreadsheetConfigRow> pageRows = hasNext ? configRows.subList(0, size) : configRows;
+        return new SpreadsheetConfigPageInfos(readSpreadsheetConfigs(pageRows),
+                hasNext ? pageRows.getLast().id() : null);
+    }
+
+    /**
+     * Streams all spreadsheet configurations ordered by ID, handing each one to the consumer as soon as it is built.
+     * Configs are read through a server-side cursor and their children are fetched by chunks, so memory does not
+     * depend on the number of configs.
+     */
+    @Transactional(readOnly = true)
+    public void streamSpreadsheetConfigs(Consumer<SpreadsheetConfigInfos> consumer) {
+        try (Stream<SpreadsheetConfigRow> configRows = spreadsheetConfigRepository.streamAllConfigRows()) {
+            List<SpreadsheetConfigRow> chunk = new ArrayList<>(PROJECTION_CHUNK_SIZE);
+            Iterator<SpreadsheetConfigRow> iterator = configRows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == PROJECTION_CHUNK_SIZE || !iterator.hasNext()) {
+                    readSpreadsheetConfigs(chunk).forEach(consumer);
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the DTOs of the given configs from flat projection queries (one per child table),
+     * without instantiating any entity nor registering anything in the persistence context.
+     * Configs referencing a template get the columns and global filters of their template.
+     */
+    private List<SpreadsheetConfigInfos> readSpreadsheetConfigs(List<SpreadsheetConfigRow> configRows) {
+        if (configRows.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> configIds = configRows.stream().map(SpreadsheetConfigRow::id).toList();
+        Set<UUID> sourceConfigIds = configRows.stream().map(SpreadsheetConfigService::getSourceConfigId).collect(Collectors.toSet());
+        Map<UUID, List<SpreadsheetColumnRow>> columnsBySourceConfig = spreadsheetConfigRepository.findColumnRowsByConfigIdIn(sourceConfigIds)
+                .stream()
+                .collect(Collectors.groupingBy(SpreadsheetColumnRow::configId));
+        Map<UUID, List<GlobalFilterRow>> globalFiltersBySourceConfig = spreadsheetConfigRepository.findGlobalFilterRowsByConfigIdIn(sourceConfigIds)
                 .stream()
-                .map(SpreadsheetConfigMapper::toDto)
+                .collect(Collectors.groupingBy(GlobalFilterRow::configId));
+        Map<UUID, List<String>> nodeAliasesByConfig = spreadsheetConfigRepository.findNodeAliasRowsByConfigIdIn(configIds)
+                .stream()
+                .collect(Collectors.groupingBy(NodeAliasRow::configId, Collectors.mapping(NodeAliasRow::alias, Collectors.toList())));
+        return configRows.stream()
+                .map(row -> SpreadsheetConfigMapper.toDto(row,
+                        getColumnRows(row, columnsBySourceConfig.getOrDefault(getSourceConfigId(row), List.of())),
+                        globalFiltersBySourceConfig.getOrDefault(getSourceConfigId(row), List.of()),
+                        nodeAliasesByConfig.getOrDefault(row.id(), new ArrayList<>())))
+                .toList();
+    }
+
+    private static UUID getSourceConfigId(SpreadsheetConfigRow row) {
+        return row.templateConfigId() != null ? row.templateConfigId() : row.id();
+    }
+
+    private static List<SpreadsheetColumnRow> getColumnRows(SpreadsheetConfigRow row, List<SpreadsheetColumnRow> sourceColumnRows) {
+        if (row.templateConfigId() == null) {
+            return sourceColumnRows;
+        }
+        return sourceColumnRows.stream()
+                .map(column -> column.withConfig(row.id(), SpreadsheetConfigCopyRepository.templateColumnUuid(row.id(), column.uuid())))
                 .toList();
     }
 
     @Transactional(readOnly = true)
-    public List<MetadataInfos> getSpreadsheetConfigsMetadata(List<UUID> ids) {
+    public List<MetadataInfos> getSpreadsheetConfigsMetadata(List<UUID> ids, boolean includeAggregates) {
         Objects.requireNonNull(ids);
-        return spreadsheetConfigRepository.findAllById(ids)
+        return (includeAggregates
+                ? spreadsheetConfigRepository.findMetadataRowsWithAggregatesByIdIn(ids)
+                : spreadsheetConfigRepository.findMetadataRowsByIdIn(ids))
                 .stream()
                 .map(SpreadsheetConfigMapper::toMetadataDto)
                 .toList();
     }
 
     @Transactional
-    public void updateSpreadsheetConfig(UUID id, SpreadsheetConfigInfos dto) {
-        SpreadsheetConfigEntity entity = findEntityById(id);
-
+    public void updateSpreadsheetConfig(UUID id, SpreadsheetConfigInfos dto, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        // the template columns are copied first, with the uuids the client got, for the given ones to be matched to them
+        SpreadsheetConfigEntity entity = findMaterializedEntityById(id);
         entity.setSheetType(dto.sheetType());
         entity.setName(dto.name());
-        if (dto.nodeAliases() != null) {
+        if (dto.nodeAliases() != null && !dto.nodeAliases().equals(entity.getNodeAliases())) {
             entity.setNodeAliases(new ArrayList<>(dto.nodeAliases()));
         }
-        entity.getColumns().clear();
-        if (dto.columns() != null) {
-            entity.getColumns().addAll(dto.columns().stream()
-                    .map(SpreadsheetConfigMapper::toColumnEntity)
-                    .toList());
-        }
-        entity.getGlobalFilters().clear();
-        if (dto.globalFilters() != null) {
-            entity.getGlobalFilters().addAll(dto.globalFilters().stream()
-                    .map(SpreadsheetConfigMapper::toGlobalFilterEntity)
-                    .toList());
-        }
+        mergeColumns(entity.getColumns(), dto.columns() != null ? dto.columns() : List.of());
+        mergeGlobalFilters(entity.getGlobalFilters(), dto.globalFilters() != null ? dto.globalFilters() : List.of());
+        compileFormulas(entity);
         if (dto.sortConfig() != null) {
             entity.setSortColumnId(dto.sortConfig().colId());
             entity.setSortDirection(SortDirection.valueOf(dto.sortConfig().sort().toUpperCase()));
         }
     }
 
+    /**
+     * Replaces the columns by the given ones while keeping the rows of the columns whose uuid is given: they are only
+     * updated if one of their fields changed, and their position if they moved. Only the really added or removed
+     * columns are inserted or deleted.
+     */
+    private static void mergeColumns(List<SpreadsheetColumnEntity> columns, List<SpreadsheetColumnInfos> newColumns) {
+        Map<UUID, SpreadsheetColumnEntity> columnsByUuid = HashMap.newHashMap(columns.size());
+        columns.forEach(column -> columnsByUuid.put(column.getUuid(), column));
+        List<SpreadsheetColumnEntity> mergedColumns = new ArrayList<>(newColumns.size());
+        for (SpreadsheetColumnInfos newColumn : newColumns) {
+            SpreadsheetColumnEntity column = newColumn.uuid() != null ? columnsByUuid.remove(newColumn.uuid()) : null;
+            if (column != null) {
+                updateColumnEntity(column, newColumn);
+            } else {
+                column = SpreadsheetConfigMapper.toColumnEntity(newColumn);
+            }
+            mergedColumns.add(column);
+        }
+        if (!mergedColumns.equals(columns)) {
+            columns.clear();
+            columns.addAll(mergedColumns);
+        }
+    }
+
+    /**
+     * Replaces the global filters by the given ones, keeping the rows of the filters that did not change. A changed
+     * filter with the same generic filter uuid as an existing one is updated in place.
+     */
+    private static void mergeGlobalFilters(List<GlobalFilterEntity> globalFilters, List<GlobalFilterInfos> newGlobalFilters) {
+        Map<GlobalFilterInfos, Deque<GlobalFilterEntity>> filtersByContent = new HashMap<>();
+        globalFilters.forEach(filter -> filtersByContent
+                .computeIfAbsent(SpreadsheetConfigMapper.toGlobalFilterDto(filter), k -> new ArrayDeque<>())
+                .add(filter));
+        List<GlobalFilterInfos> changedFilters = new ArrayList<>();
+        Set<GlobalFilterEntity> keptFilters = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (GlobalFilterInfos newFilter : newGlobalFilters) {
+            Deque<GlobalFilterEntity> sameFilters = filtersByContent.get(newFilter);
+            if (sameFilters != null && !sameFilters.isEmpty()) {
+                keptFilters.add(sameFilters.poll());
+            } else {
+                changedFilters.add(newFilter);
+            }
+        }
+        Map<UUID, GlobalFilterEntity> removedFiltersByUuid = new HashMap<>();
+        List<GlobalFilterEntity> removedFilters = new ArrayList<>();
+        globalFilters.stream().filter(filter -> !keptFilters.contains(filter)).forEach(filter -> {
+            removedFilters.add(filter);
+            if (filter.getUuid() != null) {
+                removedFiltersByUuid.putIfAbsent(filter.getUuid(), filter);
+            }
+        });
+        for (GlobalFilterInfos changedFilter : changedFilters) {
+            GlobalFilterEntity filter = changedFilter.uuid() != null ? removedFiltersByUuid.remove(changedFilter.uuid()) : null;
+            if (filter != null) {
+                updateGlobalFilterEntity(filter, changedFilter);
+                removedFilters.remove(filter);
+            } else {
+                globalFilters.add(SpreadsheetConfigMapper.toGlobalFilterEntity(changedFilter));
+            }
+        }
+        removedFilters.forEach(globalFilters::remove);
+    }
+
+    private static void updateGlobalFilterEntity(GlobalFilterEntity filter, GlobalFilterInfos dto) {
+        filter.setFilterType(dto.filterType());
+        filter.setFilterSubtype(dto.filterSubtype());
+        filter.setLabel(dto.label());
+        filter.setUnselectedDate(dto.unselectedDate());
+        filter.setEquipmentType(dto.equipmentType());
+        filter.setPath(dto.path());
+        filter.setMinValue(dto.minValue());
+        filter.setMaxValue(dto.maxValue());
+        filter.setDeleted(dto.deleted());
+    }
+
     @Transactional
-    public void updateSpreadsheetConfigSort(UUID id, SortConfig dto) {
+    public void updateSpreadsheetConfigSort(UUID id, SortConfig dto, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
         SpreadsheetConfigEntity entity = findEntityById(id);
         entity.setSortColumnId(dto.colId());
         entity.setSortDirection(SortDirection.valueOf(dto.sort().toUpperCase()));
     }
 
     @Transactional
-    public void deleteSpreadsheetConfig(UUID id) {
-        if (!spreadsheetConfigRepository.existsById(id)) {
-            throw notFoundException(id);
-        }
+    public void deleteSpreadsheetConfig(UUID id, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
         spreadsheetConfigRepository.deleteById(id);
     }
 
+    /**
+     * To be called first by every modification of a config, so that the modifications that do not go through the
+     * entity also change its version. The update locks the config until the end of the transaction: concurrent
+     * modifications are serialized and the ones based on another version than the expected one fail.
+     * The config is also evicted from the cache once the transaction is committed.
+     *
+     * @param expectedVersion version the modification is based on, null to apply it whatever the current version
+     */
+    private void incrementVersion(UUID id, Long expectedVersion) {
+        Instant now = Instant.now();
+        int updated = expectedVersion != null
+                ? spreadsheetConfigRepository.incrementVersion(id, expectedVersion, now)
+                : spreadsheetConfigRepository.incrementVersion(id, now);
+        if (updated == 0) {
+            if (!spreadsheetConfigRepository.existsById(id)) {
+                throw notFoundException(id);
+            }
+            if (spreadsheetConfigRepository.isTemplateConfig(id)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "SpreadsheetConfig " + id + " is a shared template and cannot be modified");
+            }
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "SpreadsheetConfig " + id + " has been modified since version " + expectedVersion);
+        }
+        publishConfigModified(id);
+    }
+
+    private void publishConfigModified(UUID id) {
+        eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.SPREADSHEET_CONFIG, id)
+                .and(InvalidatedEntity.SPREADSHEET_CONFIG_COLLECTION, spreadsheetConfigRepository.findCollectionIdsByConfigId(id)));
+    }
+
+    /**
+     * The shared template collections, referenced by the configs of the collections created from them, are read-only.
+     */
+    private void checkNotTemplateCollection(UUID collectionId) {
+        if (spreadsheetConfigTemplateRepository.existsByCollectionId(collectionId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "SpreadsheetConfigCollection " + collectionId + " is a shared template and cannot be modified");
+        }
+    }
+
+    private void publishCollectionModified(UUID collectionId, Collection<UUID> configIds) {
+        eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.SPREADSHEET_CONFIG_COLLECTION, collectionId)
+                .and(InvalidatedEntity.SPREADSHEET_CONFIG, configIds));
+    }
+
     private SpreadsheetConfigEntity findEntityById(UUID id) {
         return spreadsheetConfigRepository.findById(id)
                 .orElseThrow(() -> notFoundException(id));
     }
 
+    /**
+     * To be used before modifying the columns or global filters of a config: a config referencing a template first
+     * gets its own copy of them. Must be called before the config is loaded in the current persistence context.
+     */
+    private SpreadsheetConfigEntity findMaterializedEntityById(UUID id) {
+        materializeTemplateIfAny(id);
+        return findEntityById(id);
+    }
+
+    private void materializeTemplateIfAny(UUID id) {
+        spreadsheetConfigRepository.findTemplateConfigIdById(id)
+                .ifPresent(templateConfigId -> spreadsheetConfigCopyRepository.materializeSpreadsheetConfig(id, templateConfigId));
+    }
+
     private ResponseStatusException notFoundException(UUID id) {
         return new ResponseStatusException(HttpStatus.NOT_FOUND, "SpreadsheetConfig not found with id: " + id);
     }
 
     public UUID createSpreadsheetConfigCollection(SpreadsheetConfigCollectionInfos dto) {
+        return spreadsheetConfigCollectionRepository.save(toCollectionEntity(dto)).getId();
+    }
+
+    private static SpreadsheetConfigCollectionEntity toCollectionEntity(SpreadsheetConfigCollectionInfos dto) {
         SpreadsheetConfigCollectionEntity entity = new SpreadsheetConfigCollectionEntity();
         entity.setSpreadsheetConfigs(dto.spreadsheetConfigs().stream()
-                .map(SpreadsheetConfigMapper::toEntity)
+                .map(SpreadsheetConfigService::toConfigEntity)
                 .toList());
-        entity.setNodeAliases(dto.nodeAliases());
-        return spreadsheetConfigCollectionRepository.save(entity).getId();
+        if (dto.nodeAliases() != null) {
+            entity.setNodeAliases(new ArrayList<>(dto.nodeAliases()));
+        }
+        return entity;
     }
 
     @Transactional
     public UUID createSpreadsheetConfigCollectionFromConfigs(List<UUID> configUuids) {
         SpreadsheetConfigCollectionEntity entity = new SpreadsheetConfigCollectionEntity();
         Set<String> targetNames = new HashSet<>();
+        loadSpreadsheetConfigs(configUuids);
         entity.setSpreadsheetConfigs(configUuids.stream()
                 .map(configId -> {
                     SpreadsheetConfigEntity clone = duplicateSpreadsheetConfigEntity(configId);
@@ -185,11 +460,13 @@ public class SpreadsheetConfigService {
 
     @Transactional(readOnly = true)
     public SpreadsheetConfigCollectionInfos getSpreadsheetConfigCollection(UUID id) {
-        SpreadsheetConfigCollectionEntity entity = spreadsheetConfigCollectionRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + id));
-        return new SpreadsheetConfigCollectionInfos(entity.getId(), entity.getSpreadsheetConfigs().stream()
-                .map(SpreadsheetConfigMapper::toDto)
-                .toList(), entity.getNodeAliases());
+        return spreadsheetConfigCache.getCollection(id, () -> {
+            SpreadsheetConfigCollectionEntity entity = spreadsheetConfigCollectionRepository.findWithNodeAliasesById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + id));
+            return new SpreadsheetConfigCollectionInfos(entity.getId(),
+                    readSpreadsheetConfigs(spreadsheetConfigRepository.findConfigRowsByCollectionId(id)),
+                    entity.getNodeAliases());
+        });
     }
 
     @Transactional
@@ -197,6 +474,8 @@ public class SpreadsheetConfigService {
         if (!spreadsheetConfigCollectionRepository.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + id);
         }
+        checkNotTemplateCollection(id);
+        publishCollectionModified(id, spreadsheetConfigRepository.findConfigIdsByCollectionId(id));
         spreadsheetConfigCollectionRepository.deleteById(id);
     }
 
@@ -204,10 +483,12 @@ public class SpreadsheetConfigService {
     public void updateSpreadsheetConfigCollection(UUID id, SpreadsheetConfigCollectionInfos dto) {
         SpreadsheetConfigCollectionEntity entity = spreadsheetConfigCollectionRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + id));
+        checkNotTemplateCollection(id);
 
+        publishCollectionModified(id, entity.getSpreadsheetConfigs().stream().map(SpreadsheetConfigEntity::getId).toList());
         entity.getSpreadsheetConfigs().clear();
         entity.getSpreadsheetConfigs().addAll(dto.spreadsheetConfigs().stream()
-                .map(SpreadsheetConfigMapper::toEntity)
+                .map(SpreadsheetConfigService::toConfigEntity)
                 .toList());
         entity.setNodeAliases(dto.nodeAliases());
     }
@@ -216,8 +497,11 @@ public class SpreadsheetConfigService {
     public void updateSpreadsheetConfigCollectionWithConfigs(UUID id, List<UUID> configUuids) {
         SpreadsheetConfigCollectionEntity entity = spreadsheetConfigCollectionRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + id));
+        checkNotTemplateCollection(id);
 
+        publishCollectionModified(id, entity.getSpreadsheetConfigs().stream().map(SpreadsheetConfigEntity::getId).toList());
         entity.getSpreadsheetConfigs().clear();
+        loadSpreadsheetConfigs(configUuids);
         entity.getSpreadsheetConfigs().addAll(configUuids.stream()
                 .map(this::duplicateSpreadsheetConfigEntity)
                 .toList());
@@ -227,7 +511,8 @@ public class SpreadsheetConfigService {
     public void appendSpreadsheetConfigCollection(UUID id, UUID sourceCollectionId) {
         SpreadsheetConfigCollectionEntity targetEntity = spreadsheetConfigCollectionRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + id));
-        SpreadsheetConfigCollectionEntity sourceEntity = spreadsheetConfigCollectionRepository.findById(sourceCollectionId)
+        checkNotTemplateCollection(id);
+        SpreadsheetConfigCollectionEntity sourceEntity = spreadsheetConfigCollectionRepository.findWithSpreadsheetConfigsById(sourceCollectionId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + sourceCollectionId));
         // Make sure names are unique in the merged collection
         Set<String> targetNames = targetEntity.getSpreadsheetConfigs().stream().map(SpreadsheetConfigEntity::getName).collect(Collectors.toSet());
@@ -242,6 +527,7 @@ public class SpreadsheetConfigService {
         // keep only aliases of appended collection, they will be invalidated by the Front
         targetEntity.getNodeAliases().clear();
         targetEntity.getNodeAliases().addAll(sourceEntity.getNodeAliases());
+        publishCollectionModified(id, List.of());
     }
 
     private String getUniqueName(String name, Set<String> targetNames, Set<String> sourceNames) {
@@ -259,61 +545,96 @@ public class SpreadsheetConfigService {
 
     @Transactional
     public UUID duplicateSpreadsheetConfigCollection(UUID id) {
-        SpreadsheetConfigCollectionEntity entity = spreadsheetConfigCollectionRepository.findById(id)
+        if (!spreadsheetConfigCollectionRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + id);
+        }
+        return spreadsheetConfigCopyRepository.copySpreadsheetConfigCollection(id);
+    }
+
+    /**
+     * Writes the collection in the binary format of {@link SpreadsheetCollectionArchive}, reading its configs by chunks.
+     */
+    @Transactional(readOnly = true)
+    public void exportSpreadsheetConfigCollection(UUID id, OutputStream outputStream, boolean compress) {
+        SpreadsheetConfigCollectionEntity entity = spreadsheetConfigCollectionRepository.findWithNodeAliasesById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + id));
+        SpreadsheetCollectionArchive.Writer writer = SpreadsheetCollectionArchive.write(outputStream, compress);
+        writer.writeNodeAliases(entity.getNodeAliases());
+        List<SpreadsheetConfigRow> configRows = spreadsheetConfigRepository.findConfigRowsByCollectionId(id);
+        for (int start = 0; start < configRows.size(); start += PROJECTION_CHUNK_SIZE) {
+            readSpreadsheetConfigs(configRows.subList(start, Math.min(start + PROJECTION_CHUNK_SIZE, configRows.size())))
+                    .forEach(writer::writeConfig);
+        }
+        writer.finish();
+    }
 
-        SpreadsheetConfigCollectionEntity duplicate = new SpreadsheetConfigCollectionEntity();
-        duplicate.setSpreadsheetConfigs(entity.getSpreadsheetConfigs().stream()
-                .map(config -> {
-                    SpreadsheetConfigEntity configDuplicate = SpreadsheetConfigEntity.builder()
-                            .name(config.getName())
-                            .sheetType(config.getSheetType())
-                            .sortColumnId(config.getSortColumnId())
-                            .sortDirection(config.getSortDirection())
-                            .build();
-                    if (config.getNodeAliases() != null) {
-                        configDuplicate.setNodeAliases(new ArrayList<>(config.getNodeAliases()));
-                    }
-                    configDuplicate.setColumns(config.getColumns().stream()
-                            .map(SpreadsheetColumnEntity::copy)
-                            .toList());
-                    configDuplicate.setGlobalFilters(config.getGlobalFilters().stream()
-                            .map(GlobalFilterEntity::copy)
-                            .toList());
-                    return configDuplicate;
-                })
-                .toList());
-        duplicate.setNodeAliases(new ArrayList<>(entity.getNodeAliases()));
-        return spreadsheetConfigCollectionRepository.save(duplicate).getId();
+    /**
+     * Creates a collection from the binary format of {@link SpreadsheetCollectionArchive}. Configs are decoded one at a
+     * time and inserted by batches, each batch being attached to the collection with a single batched update then
+     * evicted from the persistence context, so memory does not depend on the size of the archive.
+     */
+    @Transactional
+    public UUID importSpreadsheetConfigCollection(InputStream inputStream) {
+        SpreadsheetCollectionArchive.Reader reader = SpreadsheetCollectionArchive.read(inputStream);
+        SpreadsheetConfigCollectionEntity collection = new SpreadsheetConfigCollectionEntity();
+        List<String> nodeAliases = reader.readNodeAliases();
+        if (nodeAliases != null) {
+            collection.setNodeAliases(new ArrayList<>(nodeAliases));
+        }
+        UUID collectionId = spreadsheetConfigCollectionRepository.save(collection).getId();
+
+        Map<UUID, Integer> positions = new LinkedHashMap<>();
+        int position = 0;
+        SpreadsheetConfigInfos config;
+        while ((config = reader.readConfig()) != null) {
+            positions.put(spreadsheetConfigRepository.save(toConfigEntity(config)).getId(), position++);
+            if (positions.size() == PROJECTION_CHUNK_SIZE) {
+                attachImportedConfigs(collectionId, positions);
+            }
+        }
+        attachImportedConfigs(collectionId, positions);
+        return collectionId;
+    }
+
+    private void attachImportedConfigs(UUID collectionId, Map<UUID, Integer> positions) {
+        entityManager.flush();
+        spreadsheetPositionRepository.attachConfigs(collectionId, positions);
+        entityManager.clear();
+        positions.clear();
     }
 
     @Transactional(readOnly = true)
     public SpreadsheetColumnInfos getColumn(UUID id, UUID columnId) {
-        SpreadsheetConfigEntity entity = findEntityById(id);
-        return entity.getColumns().stream()
-            .filter(column -> column.getUuid().equals(columnId))
+        Optional<SpreadsheetColumnEntity> columnEntity = spreadsheetColumnRepository.findBySpreadsheetConfigIdAndUuid(id, columnId);
+        if (columnEntity.isPresent()) {
+            return SpreadsheetConfigMapper.toColumnDto(columnEntity.get());
+        }
+        // config referencing a template, or unknown config or column
+        return getSpreadsheetConfig(id).columns().stream()
+            .filter(column -> column.uuid().equals(columnId))
             .findFirst()
-            .map(SpreadsheetConfigMapper::toColumnDto)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, COLUMN_NOT_FOUND + columnId));
     }
 
     @Transactional
-    public UUID createColumn(UUID id, SpreadsheetColumnInfos dto) {
-        SpreadsheetConfigEntity entity = findEntityById(id);
+    public UUID createColumn(UUID id, SpreadsheetColumnInfos dto, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        SpreadsheetConfigEntity entity = findMaterializedEntityById(id);
         SpreadsheetColumnEntity columnEntity = SpreadsheetConfigMapper.toColumnEntity(dto);
         entity.getColumns().add(columnEntity);
+        compileFormulas(entity, columnIds(columnEntity.getId()));
         spreadsheetConfigRepository.flush();
         return columnEntity.getUuid();
     }
 
     @Transactional
-    public void updateColumn(UUID id, UUID columnId, SpreadsheetColumnInfos dto) {
-        SpreadsheetConfigEntity entity = findEntityById(id);
-        SpreadsheetColumnEntity columnEntity = entity.getColumns().stream()
-            .filter(column -> column.getUuid().equals(columnId))
-            .findFirst()
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, COLUMN_NOT_FOUND + columnId));
+    public void updateColumn(UUID id, UUID columnId, SpreadsheetColumnInfos dto, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        updateColumnEntity(findMaterializedColumnEntity(id, columnId), dto);
+        recompileFormulas(id, columnIds(dto.id()));
+    }
 
+    private static void updateColumnEntity(SpreadsheetColumnEntity columnEntity, SpreadsheetColumnInfos dto) {
         columnEntity.setName(dto.name());
         columnEntity.setType(dto.type());
         columnEntity.setPrecision(dto.precision());
@@ -335,30 +656,124 @@ public class SpreadsheetConfigService {
             columnEntity.setColumnFilter(null);
         }
         columnEntity.setVisible(dto.visible());
-
-        spreadsheetConfigRepository.save(entity);
     }
 
     @Transactional
-    public void deleteColumn(UUID id, UUID columnId) {
-        SpreadsheetConfigEntity entity = findEntityById(id);
-        boolean removed = entity.getColumns().removeIf(column -> column.getUuid().equals(columnId));
-        if (!removed) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, COLUMN_NOT_FOUND + columnId);
+    public void deleteColumn(UUID id, UUID columnId, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        SpreadsheetColumnEntity columnEntity = findMaterializedColumnEntity(id, columnId);
+        spreadsheetColumnRepository.delete(columnEntity);
+        // keep the positions of the following columns contiguous
+        spreadsheetColumnRepository.shiftColumnOrders(id, columnEntity.getColumnOrder(), -1);
+        recompileFormulas(id, Set.of());
+    }
+
+    /**
+     * For the modifications made without loading the config entity.
+     */
+    private void recompileFormulas(UUID id, Set<String> writtenColumnIds) {
+        spreadsheetConfigRepository.updateFormulaGraph(id,
+                compileFormulaGraph(spreadsheetConfigRepository.findColumnFormulasByConfigId(id), writtenColumnIds));
+    }
+
+    private static SpreadsheetConfigEntity toConfigEntity(SpreadsheetConfigInfos dto) {
+        try {
+            return SpreadsheetConfigMapper.toEntity(dto);
+        } catch (InvalidFormulaException e) {
+            throw invalidFormulaException(e);
         }
-        spreadsheetConfigRepository.save(entity);
     }
 
-    @Transactional
-    public void reorderColumns(UUID id, List<UUID> columnOrder) {
-        SpreadsheetConfigEntity entity = findEntityById(id);
-        List<SpreadsheetColumnEntity> columns = entity.getColumns();
+    private static void compileFormulas(SpreadsheetConfigEntity entity) {
+        try {
+            entity.compileFormulas();
+        } catch (InvalidFormulaException e) {
+            throw invalidFormulaException(e);
+        }
+    }
 
-        reorderColumns(columnOrder, columns);
+    private static void compileFormulas(SpreadsheetConfigEntity entity, Set<String> writtenColumnIds) {
+        entity.setFormulaGraph(compileFormulaGraph(entity.getColumns().stream().map(ColumnFormula::of).toList(), writtenColumnIds));
     }
 
-    private static void reorderColumns(List<UUID> columnOrder, List<SpreadsheetColumnEntity> columns) {
-        columns.sort(Comparator.comparingInt(column -> columnOrder.indexOf(column.getUuid())));
+    /**
+     * Only the written columns must be valid: configs saved before formulas were checked may hold invalid ones, which
+     * must not prevent editing their other columns. The graph of such configs is not stored, it is compiled on the fly.
+     *
+     * @return the encoded graph, null if it is invalid because of columns that have not been written
+     */
+    private static String compileFormulaGraph(List<ColumnFormula> columns, Set<String> writtenColumnIds) {
+        try {
+            columns.stream()
+                    .filter(column -> column.id() != null && writtenColumnIds.contains(column.id()))
+                    .forEach(FormulaGraphCompiler::checkColumn);
+            return FormulaGraphCompiler.compile(columns).encode();
+        } catch (InvalidFormulaException e) {
+            if (!Collections.disjoint(e.getColumnIds(), writtenColumnIds)) {
+                throw invalidFormulaException(e);
+            }
+            return null;
+        }
+    }
+
+    private static Set<String> columnIds(String columnId) {
+        return columnId != null ? Set.of(columnId) : Set.of();
+    }
+
+    private static FormulaGraph compileFormulas(List<ColumnFormula> columns) {
+        try {
+            return FormulaGraphCompiler.compile(columns);
+        } catch (InvalidFormulaException e) {
+            throw invalidFormulaException(e);
+        }
+    }
+
+    private static ResponseStatusException invalidFormulaException(InvalidFormulaException e) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+
+    /**
+     * Configs saved before formula graphs were stored get theirs compiled on the fly.
+     */
+    @Transactional(readOnly = true)
+    public FormulaGraphInfos getFormulaGraph(UUID id) {
+        FormulaGraph graph = spreadsheetConfigRepository.findFormulaGraphById(id)
+                .map(FormulaGraph::decode)
+                .orElseGet(() -> compileFormulas(getSpreadsheetConfig(id).columns().stream()
+                        .map(column -> new ColumnFormula(column.id(), column.formula(), column.dependencies()))
+                        .toList()));
+        return SpreadsheetConfigMapper.toFormulaGraphDto(graph);
+    }
+
+    /**
+     * Loads a single column of a config, without its siblings. Must be called before the config is loaded
+     * in the current persistence context.
+     */
+    private SpreadsheetColumnEntity findMaterializedColumnEntity(UUID id, UUID columnId) {
+        materializeTemplateIfAny(id);
+        return spreadsheetColumnRepository.findBySpreadsheetConfigIdAndUuid(id, columnId)
+                .orElseThrow(() -> spreadsheetConfigRepository.existsById(id)
+                        ? new ResponseStatusException(HttpStatus.NOT_FOUND, COLUMN_NOT_FOUND + columnId)
+                        : notFoundException(id));
+    }
+
+    @Transactional
+    public void reorderColumns(UUID id, List<UUID> columnOrder, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        List<UUID> currentOrder = findMaterializedColumnStates(id).stream().map(ColumnStateRow::uuid).toList();
+        List<UUID> newOrder = ReorderEngine.reorder(currentOrder, columnOrder);
+        spreadsheetPositionRepository.updateColumnPositions(ReorderEngine.movedPositions(currentOrder, newOrder));
+    }
+
+    /**
+     * Column uuids and visibility in column order, without loading the config entity.
+     */
+    private List<ColumnStateRow> findMaterializedColumnStates(UUID id) {
+        if (!spreadsheetConfigRepository.existsById(id)) {
+            throw notFoundException(id);
+        }
+        materializeTemplateIfAny(id);
+        return spreadsheetConfigRepository.findColumnStateRowsByConfigId(id);
     }
 
     private String newCandidate(String base, int n) {
@@ -384,9 +799,13 @@ public class SpreadsheetConfigService {
         return newCandidate(originalValue, i);
     }
 
-    private Pair<String, String> getDuplicateIdAndNameCandidate(SpreadsheetConfigEntity entity, String columnId, String columnName) {
-        var existingColumnIds = entity.getColumns().stream().map(SpreadsheetColumnEntity::getId).collect(Collectors.toSet());
-        var existingColumnNames = entity.getColumns().stream().map(SpreadsheetColumnEntity::getName).collect(Collectors.toSet());
+    private Pair<String, String> getDuplicateIdAndNameCandidate(UUID configId, String columnId, String columnName) {
+        return getDuplicateIdAndNameCandidate(new HashSet<>(spreadsheetColumnRepository.findColumnIdsBySpreadsheetConfigId(configId)),
+                new HashSet<>(spreadsheetColumnRepository.findNamesBySpreadsheetConfigId(configId)), columnId, columnName);
+    }
+
+    private Pair<String, String> getDuplicateIdAndNameCandidate(Set<String> existingColumnIds, Set<String> existingColumnNames,
+                                                                String columnId, String columnName) {
         String newColumnId = getUniqueValue(columnId, existingColumnIds);
         String newColumnName = getUniqueValue(columnName, existingColumnNames);
 
@@ -394,67 +813,206 @@ public class SpreadsheetConfigService {
     }
 
     @Transactional
-    public void duplicateColumn(UUID id, UUID columnId) {
-        SpreadsheetConfigEntity entity = findEntityById(id);
-        SpreadsheetColumnEntity columnEntity = entity.getColumns().stream().filter(col -> col.getUuid().equals(columnId))
-                .findFirst().orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, COLUMN_NOT_FOUND + columnId));
-        SpreadsheetColumnEntity columnCopy = columnEntity.toBuilder().build();
-        columnCopy.setUuid(null);
-        columnCopy.setColumnFilter(Optional.ofNullable(columnCopy.getColumnFilter()).map(ColumnFilterEntity::copy).orElse(null));
-        Pair<String, String> idAndName = getDuplicateIdAndNameCandidate(entity, columnCopy.getId(), columnCopy.getName());
+    public void duplicateColumn(UUID id, UUID columnId, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        SpreadsheetColumnEntity columnEntity = findMaterializedColumnEntity(id, columnId);
+        SpreadsheetColumnEntity columnCopy = columnEntity.copy();
+        Pair<String, String> idAndName = getDuplicateIdAndNameCandidate(id, columnCopy.getId(), columnCopy.getName());
         columnCopy.setId(idAndName.getLeft());
         columnCopy.setName(idAndName.getRight());
-        List<SpreadsheetColumnEntity> columns = entity.getColumns();
-        columns.add(columns.indexOf(columnEntity) + 1, columnCopy);
-        entity.setColumns(columns);
-        spreadsheetConfigRepository.save(entity);
+        // insert the copy right after the original column
+        int position = columnEntity.getColumnOrder() + 1;
+        spreadsheetColumnRepository.shiftColumnOrders(id, columnEntity.getColumnOrder(), 1);
+        UUID copyUuid = spreadsheetColumnRepository.save(columnCopy).getUuid();
+        spreadsheetColumnRepository.attachColumn(copyUuid, id, position);
+        // a copy does not bring any new invalid formula
+        recompileFormulas(id, Set.of());
     }
 
+    /**
+     * Applies the operations in the given order to the columns of the config, loaded once, and returns for each
+     * operation the UUID of the column it produced or applied to.
+     */
     @Transactional
-    public void updateColumnStates(UUID id, List<ColumnStateUpdateInfos> columnStates) {
-        SpreadsheetConfigEntity entity = findEntityById(id);
+    public List<UUID> applyColumnOperations(UUID id, List<ColumnOperationInfos> operations, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        SpreadsheetConfigEntity entity = findMaterializedEntityById(id);
         List<SpreadsheetColumnEntity> columns = entity.getColumns();
+        Map<UUID, SpreadsheetColumnEntity> columnsByUuid = HashMap.newHashMap(columns.size());
+        columns.forEach(column -> columnsByUuid.put(column.getUuid(), column));
+
+        // added columns only get their UUID when flushed
+        List<SpreadsheetColumnEntity> resultColumns = new ArrayList<>(operations.size());
+        Set<String> writtenColumnIds = new HashSet<>();
+        for (ColumnOperationInfos operation : operations) {
+            if (operation.type() == ColumnOperationType.ADD) {
+                SpreadsheetColumnEntity columnEntity = SpreadsheetConfigMapper.toColumnEntity(requireColumn(operation));
+                columns.add(operation.position() != null ? clampPosition(operation.position(), columns.size()) : columns.size(), columnEntity);
+                resultColumns.add(columnEntity);
+                writtenColumnIds.addAll(columnIds(columnEntity.getId()));
+                continue;
+            }
+            SpreadsheetColumnEntity columnEntity = Optional.ofNullable(operation.columnId())
+                    .map(columnsByUuid::get)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, COLUMN_NOT_FOUND + operation.columnId()));
+            switch (operation.type()) {
+                case UPDATE -> {
+                    updateColumnEntity(columnEntity, requireColumn(operation));
+                    writtenColumnIds.addAll(columnIds(columnEntity.getId()));
+                }
+                case DELETE -> {
+                    columns.remove(columnEntity);
+                    columnsByUuid.remove(columnEntity.getUuid());
+                }
+                case DUPLICATE -> {
+                    SpreadsheetColumnEntity columnCopy = columnEntity.copy();
+                    Pair<String, String> idAndName = getDuplicateIdAndNameCandidate(
+                            columns.stream().map(SpreadsheetColumnEntity::getId).collect(Collectors.toSet()),
+                            columns.stream().map(SpreadsheetColumnEntity::getName).collect(Collectors.toSet()),
+                            columnCopy.getId(), columnCopy.getName());
+                    columnCopy.setId(idAndName.getLeft());
+                    columnCopy.setName(idAndName.getRight());
+                    columns.add(columns.indexOf(columnEntity) + 1, columnCopy);
+                    columnEntity = columnCopy;
+                }
+                case MOVE -> {
+                    if (operation.position() == null) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Position is mandatory to move column " + operation.columnId());
+                    }
+                    columns.remove(columnEntity);
+                    columns.add(clampPosition(operation.position(), columns.size()), columnEntity);
+                }
+                case VISIBILITY -> {
+                    if (operation.visible() == null) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Visibility is mandatory for column " + operation.columnId());
+                    }
+                    columnEntity.setVisible(operation.visible());
+                }
+                default -> throw new IllegalStateException("Unexpected column operation: " + operation.type());
+            }
+            resultColumns.add(columnEntity);
+        }
+        compileFormulas(entity, writtenColumnIds);
+        spreadsheetConfigRepository.flush();
+        return resultColumns.stream().map(SpreadsheetColumnEntity::getUuid).toList();
+    }
 
-        Map<UUID, SpreadsheetColumnEntity> columnMap = columns.stream()
-                .collect(Collectors.toMap(SpreadsheetColumnEntity::getUuid, column -> column));
+    private static SpreadsheetColumnInfos requireColumn(ColumnOperationInfos operation) {
+        if (operation.column() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Column is mandatory for operation " + operation.type());
+        }
+        return operation.column();
+    }
 
+    private static int clampPosition(int position, int size) {
+        return Math.clamp(position, 0, size);
+    }
+
+    @Transactional
+    public void updateColumnStates(UUID id, List<ColumnStateUpdateInfos> columnStates, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        List<ColumnStateRow> columns = findMaterializedColumnStates(id);
+        Map<UUID, Boolean> currentVisibilities = HashMap.newHashMap(columns.size());
+        columns.forEach(column -> currentVisibilities.put(column.uuid(), Boolean.TRUE.equals(column.visible())));
+
+        Map<UUID, Boolean> visibilities = new HashMap<>(currentVisibilities);
         for (ColumnStateUpdateInfos state : columnStates) {
-            SpreadsheetColumnEntity column = columnMap.get(state.columnId());
-            if (column == null) {
+            if (!visibilities.containsKey(state.columnId())) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, COLUMN_NOT_FOUND + state.columnId());
             }
-            column.setVisible(state.visible());
+            visibilities.put(state.columnId(), state.visible());
         }
 
-        // Reorder columns based on the provided states
+        // Reorder columns based on the provided states, then only write the columns that moved or changed visibility
         List<UUID> orderedColumnIds = columnStates.stream()
                 .sorted(Comparator.comparingInt(ColumnStateUpdateInfos::order))
                 .map(ColumnStateUpdateInfos::columnId)
                 .toList();
-        reorderColumns(orderedColumnIds, columns);
+        List<UUID> currentOrder = columns.stream().map(ColumnStateRow::uuid).toList();
+        List<UUID> newOrder = ReorderEngine.reorder(currentOrder, orderedColumnIds);
+        Map<UUID, Integer> changedPositions = new LinkedHashMap<>();
+        for (int i = 0; i < newOrder.size(); i++) {
+            UUID columnId = newOrder.get(i);
+            if (!columnId.equals(currentOrder.get(i)) || !visibilities.get(columnId).equals(currentVisibilities.get(columnId))) {
+                changedPositions.put(columnId, i);
+            }
+        }
+        spreadsheetPositionRepository.updateColumnStates(changedPositions, visibilities);
     }
 
-    private SpreadsheetConfigCollectionInfos readDefaultSpreadsheetConfigCollection() throws IOException {
-        try (InputStream inputStream = defaultSpreadsheetConfigCollectionResource.getInputStream()) {
-            return objectMapper.readValue(inputStream, SpreadsheetConfigCollectionInfos.class);
+    @PostConstruct
+    void loadDefaultSpreadsheetConfigCollection() {
+        defaultSpreadsheetConfigCollection = new DefaultTemplate<>(defaultSpreadsheetConfigCollectionResource, objectMapper,
+                SpreadsheetConfigCollectionInfos.class, SpreadsheetConfigService::validateDefaultSpreadsheetConfigCollection,
+                reloadDefaultTemplates);
+    }
+
+    private static SpreadsheetConfigCollectionInfos validateDefaultSpreadsheetConfigCollection(SpreadsheetConfigCollectionInfos collection) {
+        if (collection.spreadsheetConfigs() == null || collection.spreadsheetConfigs().isEmpty()) {
+            throw new IllegalStateException("Default spreadsheet config collection has no spreadsheet config");
         }
+        return new SpreadsheetConfigCollectionInfos(
+                collection.id(),
+                collection.spreadsheetConfigs().stream()
+                        .map(config -> {
+                            if (config.name() == null || config.sheetType() == null) {
+                                throw new IllegalStateException("Default spreadsheet config without name or sheet type");
+                            }
+                            return new SpreadsheetConfigInfos(config.id(), config.name(), config.sheetType(),
+                                    immutableCopy(config.columns()), immutableCopy(config.globalFilters()),
+                                    immutableCopy(config.nodeAliases()), config.sortConfig());
+                        })
+                        .toList(),
+                immutableCopy(collection.nodeAliases()));
+    }
+
+    private static <T> List<T> immutableCopy(List<T> list) {
+        return list != null ? List.copyOf(list) : null;
     }
 
     @Transactional
-    public void setGlobalFiltersForSpreadsheetConfig(UUID id, List<GlobalFilterInfos> globalFilters) {
-        SpreadsheetConfigEntity entity = findEntityById(id);
+    public void setGlobalFiltersForSpreadsheetConfig(UUID id, List<GlobalFilterInfos> globalFilters, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        SpreadsheetConfigEntity entity = findMaterializedEntityById(id);
         entity.getGlobalFilters().clear();
         entity.getGlobalFilters().addAll(globalFilters.stream()
                 .map(SpreadsheetConfigMapper::toGlobalFilterEntity)
                 .toList());
     }
 
+    /**
+     * In shared mode, the default collection is stored once per template version and each new collection only
+     * references its configs: columns and global filters are copied into a config on its first modification.
+     */
+    @Transactional
     public UUID createDefaultSpreadsheetConfigCollection() {
+        if (!shareDefaultSpreadsheetConfigCollection) {
+            return createSpreadsheetConfigCollection(defaultSpreadsheetConfigCollection.get());
+        }
+        DefaultTemplate.Snapshot<SpreadsheetConfigCollectionInfos> template = defaultSpreadsheetConfigCollection.snapshot();
+        UUID templateCollectionId = spreadsheetConfigTemplateRepository.findById(template.version())
+                .map(SpreadsheetConfigTemplateEntity::getCollectionId)
+                .orElseGet(() -> createTemplateCollection(template));
+        return spreadsheetConfigCopyRepository.linkSpreadsheetConfigCollection(templateCollectionId);
+    }
+
+    /**
+     * Stores the shared collection of a template version in its own transaction: replicas creating the same version at
+     * once race on the template primary key, the losers rolling their collection back and reading the winner's one.
+     */
+    private UUID createTemplateCollection(DefaultTemplate.Snapshot<SpreadsheetConfigCollectionInfos> template) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
         try {
-            SpreadsheetConfigCollectionInfos defaultCollection = readDefaultSpreadsheetConfigCollection();
-            return createSpreadsheetConfigCollection(defaultCollection);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read default spreadsheet config collection", e);
+            return transactionTemplate.execute(status -> {
+                UUID collectionId = spreadsheetConfigCollectionRepository.saveAndFlush(toCollectionEntity(template.value())).getId();
+                spreadsheetConfigTemplateRepository.saveAndFlush(new SpreadsheetConfigTemplateEntity(template.version(), collectionId));
+                return collectionId;
+            });
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> spreadsheetConfigTemplateRepository.findById(template.version())
+                    .map(SpreadsheetConfigTemplateEntity::getCollectionId)
+                    .orElseThrow(() -> e));
         }
     }
 
@@ -462,10 +1020,12 @@ public class SpreadsheetConfigService {
     public UUID addSpreadsheetConfigToCollection(UUID collectionId, SpreadsheetConfigInfos dto) {
         SpreadsheetConfigCollectionEntity collection = spreadsheetConfigCollectionRepository.findById(collectionId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + collectionId));
+        checkNotTemplateCollection(collectionId);
 
-        SpreadsheetConfigEntity newConfig = SpreadsheetConfigMapper.toEntity(dto);
+        SpreadsheetConfigEntity newConfig = toConfigEntity(dto);
         collection.getSpreadsheetConfigs().add(newConfig);
         spreadsheetConfigCollectionRepository.flush();
+        publishCollectionModified(collectionId, List.of());
         return newConfig.getId();
     }
 
@@ -473,45 +1033,47 @@ public class SpreadsheetConfigService {
     public void removeSpreadsheetConfigFromCollection(UUID collectionId, UUID configId) {
         SpreadsheetConfigCollectionEntity collection = spreadsheetConfigCollectionRepository.findById(collectionId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + collectionId));
+        checkNotTemplateCollection(collectionId);
 
         boolean removed = collection.getSpreadsheetConfigs().removeIf(config -> config.getId().equals(configId));
         if (!removed) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Spreadsheet configuration not found in collection");
         }
+        publishCollectionModified(collectionId, List.of(configId));
         spreadsheetConfigCollectionRepository.save(collection);
     }
 
     @Transactional
     public void reorderSpreadsheetConfigs(UUID collectionId, List<UUID> newOrder) {
-        SpreadsheetConfigCollectionEntity collection = spreadsheetConfigCollectionRepository.findById(collectionId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + collectionId));
+        if (!spreadsheetConfigCollectionRepository.existsById(collectionId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, SPREADSHEET_CONFIG_COLLECTION_NOT_FOUND + collectionId);
+        }
+        checkNotTemplateCollection(collectionId);
+        List<UUID> currentOrder = spreadsheetConfigRepository.findConfigIdsByCollectionId(collectionId);
 
         // Validate inputs
-        Set<UUID> existingIds = collection.getSpreadsheetConfigs().stream()
-                .map(SpreadsheetConfigEntity::getId)
-                .collect(Collectors.toSet());
+        Set<UUID> existingIds = new HashSet<>(currentOrder);
 
         if (existingIds.size() != newOrder.size() || !existingIds.containsAll(newOrder)) {
             throw new IllegalArgumentException("New order must contain exactly the same configs as the collection");
         }
 
-        List<SpreadsheetConfigEntity> configs = collection.getSpreadsheetConfigs();
-        configs.sort((c1, c2) -> {
-            int idx1 = newOrder.indexOf(c1.getId());
-            int idx2 = newOrder.indexOf(c2.getId());
-            return Integer.compare(idx1, idx2);
-        });
+        spreadsheetPositionRepository.updateConfigPositions(
+                ReorderEngine.movedPositions(currentOrder, ReorderEngine.reorder(currentOrder, newOrder)));
+        publishCollectionModified(collectionId, List.of());
     }
 
     @Transactional
-    public void renameSpreadsheetConfig(UUID id, String name) {
+    public void renameSpreadsheetConfig(UUID id, String name, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
         SpreadsheetConfigEntity entity = findEntityById(id);
         entity.setName(name);
     }
 
     @Transactional
-    public void resetSpreadsheetConfigFilters(UUID id) {
-        findEntityById(id).resetFilters();
+    public void resetSpreadsheetConfigFilters(UUID id, Long expectedVersion) {
+        incrementVersion(id, expectedVersion);
+        findMaterializedEntityById(id).resetFilters();
     }
 
 }
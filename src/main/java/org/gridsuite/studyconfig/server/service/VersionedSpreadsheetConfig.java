@@ -0,0 +1,16 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.service;
+
+import org.gridsuite.studyconfig.server.dto.SpreadsheetConfigInfos;
+
+/**
+ * Spreadsheet config along with its version, cached together so that the ETag of a cached config costs no query.
+ * The version has been read before the content: it can only be older than it, never newer.
+ */
+public record VersionedSpreadsheetConfig(long version, SpreadsheetConfigInfos config) {
+}
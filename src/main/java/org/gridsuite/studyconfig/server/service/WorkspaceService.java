@@ -7,8 +7,12 @@
 package org.gridsuite.studyconfig.server.service;
 
 import lombok.RequiredArgsConstructor;
+import org.gridsuite.studyconfig.server.dto.workspace.WorkspaceInfos;
 import org.gridsuite.studyconfig.server.entities.workspace.WorkspaceEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidatedEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationEvent;
 import org.gridsuite.studyconfig.server.repositories.WorkspaceRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,14 +27,22 @@ public class WorkspaceService {
 
     private final WorkspaceRepository workspaceRepository;
     private final WorkspaceNADConfigService workspaceNADConfigService;
+    private final PanelGeometryBuffer panelGeometryBuffer;
+    private final PanelNavigationHistoryService panelNavigationHistoryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
-    public Optional<WorkspaceEntity> getWorkspace(UUID workspaceId) {
-        return workspaceRepository.findById(workspaceId);
+    public Optional<WorkspaceInfos> getWorkspace(UUID workspaceId) {
+        return workspaceRepository.findById(workspaceId).map(WorkspaceEntity::toDto).map(workspace -> {
+            panelGeometryBuffer.applyPendingGeometries(workspaceId, workspace.panels());
+            panelNavigationHistoryService.fillNavigationHistories(workspace.panels());
+            return workspace;
+        });
     }
 
     @Transactional
     public WorkspaceEntity duplicateWorkspace(UUID sourceWorkspaceId) {
+        panelGeometryBuffer.flushWorkspace(sourceWorkspaceId);
         Optional<WorkspaceEntity> sourceWorkspace = workspaceRepository.findById(sourceWorkspaceId);
         if (sourceWorkspace.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Workspace not found: " + sourceWorkspaceId);
@@ -39,11 +51,14 @@ public class WorkspaceService {
         WorkspaceEntity workspace = sourceWorkspace.get().duplicate();
         workspaceNADConfigService.duplicateNadConfigs(workspace);
 
-        return workspaceRepository.save(workspace);
+        WorkspaceEntity saved = workspaceRepository.saveAndFlush(workspace);
+        panelNavigationHistoryService.saveNavigationHistories(saved.getPanels());
+        return saved;
     }
 
     @Transactional
     public void replaceWorkspace(UUID workspaceId, UUID sourceWorkspaceId) {
+        panelGeometryBuffer.flushWorkspace(sourceWorkspaceId);
         WorkspaceEntity existingWorkspace = workspaceRepository.findById(workspaceId)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Workspace not found: " + workspaceId));
         WorkspaceEntity sourceWorkspace = workspaceRepository.findById(sourceWorkspaceId)
@@ -61,7 +76,9 @@ public class WorkspaceService {
         existingWorkspace.getPanels().clear();
         existingWorkspace.getPanels().addAll(duplicated.getPanels());
 
-        workspaceRepository.save(existingWorkspace);
+        workspaceRepository.saveAndFlush(existingWorkspace);
+        panelNavigationHistoryService.saveNavigationHistories(duplicated.getPanels());
+        eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.WORKSPACE, workspaceId));
     }
 
     @Transactional
@@ -73,5 +90,6 @@ public class WorkspaceService {
 
         workspaceNADConfigService.deleteNadConfigs(workspace.get().getNadPanels().stream());
         workspaceRepository.deleteById(workspaceId);
+        eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.WORKSPACE, workspaceId));
     }
 }
@@ -7,19 +7,25 @@
 package org.gridsuite.studyconfig.server.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.gridsuite.studyconfig.server.dto.workspace.*;
 import org.gridsuite.studyconfig.server.entities.workspace.*;
+import org.gridsuite.studyconfig.server.invalidation.InvalidatedEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationEvent;
+import org.gridsuite.studyconfig.server.repositories.PanelLayoutRepository;
 import org.gridsuite.studyconfig.server.repositories.WorkspaceRepository;
 import org.gridsuite.studyconfig.server.repositories.WorkspacesConfigRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
-import java.io.*;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -30,13 +36,24 @@ public class WorkspacesConfigService {
     private final WorkspacesConfigRepository workspacesConfigRepository;
     private final WorkspaceRepository workspaceRepository;
     private final WorkspaceNADConfigService workspaceNADConfigService;
+    private final PanelGeometryBuffer panelGeometryBuffer;
+    private final PanelLayoutRepository panelLayoutRepository;
+    private final PanelNavigationHistoryService panelNavigationHistoryService;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("classpath:default-workspaces-config.json")
     private Resource defaultWorkspacesConfigResource;
 
+    @Value("${study-config.default-templates.reload-on-change:false}")
+    private boolean reloadDefaultTemplates;
+
+    private DefaultTemplate<WorkspacesConfigInfos> defaultWorkspacesConfig;
+
     private static final String WORKSPACES_CONFIG_NOT_FOUND = "WorkspacesConfig not found with id: ";
     private static final String WORKSPACE_NOT_FOUND = "Workspace not found with id: ";
+    private static final String PANEL_NOT_FOUND = "Panel not found: ";
+    private static final String NAVIGATION_HISTORY_NOT_FOUND = "No navigation history found for panel: ";
     private static final String WORKSPACE_NAME_PREFIX = "Workspace ";
 
     @Transactional
@@ -46,13 +63,16 @@ public class WorkspacesConfigService {
             .flatMap(workspace -> workspace.getNadPanels().stream());
         workspacesConfigRepository.delete(entity);
         workspaceNADConfigService.deleteNadConfigs(nadPanels);
+        eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.WORKSPACES_CONFIG, id)
+                .and(InvalidatedEntity.WORKSPACE, entity.getWorkspaces().stream().map(WorkspaceEntity::getId).toList()));
     }
 
     @Transactional
     public UUID duplicateWorkspacesConfig(UUID id) {
+        panelGeometryBuffer.flushWorkspacesConfig(id);
         WorkspacesConfigEntity duplicated = findWorkspacesConfig(id).duplicate();
         duplicated.getWorkspaces().forEach(workspaceNADConfigService::duplicateNadConfigs);
-        return workspacesConfigRepository.save(duplicated).getId();
+        return saveWorkspacesConfig(duplicated);
     }
 
     @Transactional(readOnly = true)
@@ -65,29 +85,40 @@ public class WorkspacesConfigService {
 
     @Transactional(readOnly = true)
     public WorkspaceInfos getWorkspace(UUID configId, UUID workspaceId) {
-        return findWorkspace(configId, workspaceId).toDto();
+        WorkspaceInfos workspace = findWorkspace(configId, workspaceId).toDto();
+        panelGeometryBuffer.applyPendingGeometries(workspaceId, workspace.panels());
+        panelNavigationHistoryService.fillNavigationHistories(workspace.panels());
+        return workspace;
     }
 
     @Transactional
     public void renameWorkspace(UUID configId, UUID workspaceId, String name) {
         WorkspaceEntity workspace = findWorkspace(configId, workspaceId);
         workspace.setName(name);
+        publishWorkspaceModified(configId, workspaceId);
     }
 
     @Transactional(readOnly = true)
     public List<PanelInfos> getPanels(UUID configId, UUID workspaceId, Set<UUID> panelIds) {
         WorkspaceEntity workspace = findWorkspace(configId, workspaceId);
-        return workspace.getPanels().stream()
+        List<PanelInfos> panels = workspace.getPanels().stream()
             .filter(Objects::nonNull)
             .filter(p -> panelIds == null || panelIds.contains(p.getId()))
             .map(PanelEntity::toDto)
             .toList();
+        panelGeometryBuffer.applyPendingGeometries(workspaceId, panels);
+        panelNavigationHistoryService.fillNavigationHistories(panels);
+        return panels;
     }
 
     @Transactional
     public List<UUID> createOrUpdatePanels(UUID configId, UUID workspaceId, List<PanelInfos> panels) {
+        panelGeometryBuffer.flushWorkspace(workspaceId);
         WorkspaceEntity workspace = findWorkspace(configId, workspaceId);
         List<UUID> panelIds = new ArrayList<>();
+        List<PanelEntity> newPanels = new ArrayList<>();
+        // written with their whole values, a geometry buffered since the flush must not override them
+        panelGeometryBuffer.discard(workspaceId, panels.stream().map(PanelInfos::getId).filter(Objects::nonNull).toList());
         panels.forEach(panelDto ->
             workspace.getPanel(panelDto.getId())
                 .ifPresentOrElse(
@@ -98,13 +129,64 @@ public class WorkspacesConfigService {
                     () -> {
                         PanelEntity newPanel = PanelEntity.toEntity(panelDto);
                         workspace.getPanels().add(newPanel);
+                        newPanels.add(newPanel);
                         panelIds.add(newPanel.getId());
                     }
                 )
         );
+        if (!newPanels.isEmpty()) {
+            workspaceRepository.flush();
+            panelNavigationHistoryService.saveNavigationHistories(newPanels);
+        }
+        publishWorkspaceModified(configId, workspaceId);
         return panelIds;
     }
 
+    /**
+     * Geometry-only updates of panels, coalesced in memory and written later by batch.
+     */
+    public void updatePanelGeometries(UUID configId, UUID workspaceId, List<PanelGeometryInfos> geometries) {
+        if (!workspaceRepository.existsByIdAndWorkspacesConfigId(workspaceId, configId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, WORKSPACE_NOT_FOUND + workspaceId);
+        }
+        panelGeometryBuffer.add(configId, workspaceId, geometries);
+    }
+
+    /**
+     * Layout update of one panel, writing its layout columns only.
+     */
+    @Transactional
+    public void updatePanelLayout(UUID configId, UUID workspaceId, UUID panelId, PanelLayoutInfos layout) {
+        // a pending geometry written later would override this one
+        panelGeometryBuffer.flushWorkspace(workspaceId);
+        if (layout.position() != null || layout.size() != null) {
+            panelGeometryBuffer.discard(workspaceId, List.of(panelId));
+        }
+        if (!panelLayoutRepository.updateLayout(configId, workspaceId, panelId, layout)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, PANEL_NOT_FOUND + panelId);
+        }
+        publishWorkspaceModified(configId, workspaceId);
+    }
+
+    /**
+     * Appends an entry to the navigation history of a NAD or SLD panel, dropping its oldest entry when full.
+     */
+    @Transactional
+    public void appendNavigationHistory(UUID configId, UUID workspaceId, UUID panelId, String voltageLevelId) {
+        if (!panelNavigationHistoryService.append(configId, workspaceId, panelId, voltageLevelId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, PANEL_NOT_FOUND + panelId);
+        }
+        publishWorkspaceModified(configId, workspaceId);
+    }
+
+    @Transactional
+    public void removeLastNavigationHistory(UUID configId, UUID workspaceId, UUID panelId) {
+        if (!panelNavigationHistoryService.removeLast(configId, workspaceId, panelId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, NAVIGATION_HISTORY_NOT_FOUND + panelId);
+        }
+        publishWorkspaceModified(configId, workspaceId);
+    }
+
     @Transactional
     public void deletePanels(UUID configId, UUID workspaceId, Set<UUID> panelIds) {
         WorkspaceEntity workspace = findWorkspace(configId, workspaceId);
@@ -120,6 +202,7 @@ public class WorkspacesConfigService {
         } else {
             workspace.getPanels().removeIf(p -> p != null && panelIds.contains(p.getId()));
         }
+        publishWorkspaceModified(configId, workspaceId);
     }
 
     @Transactional
@@ -127,12 +210,18 @@ public class WorkspacesConfigService {
         if (workspaceIds == null || workspaceIds.isEmpty()) {
             return createDefaultWorkspacesConfig();
         }
+        List<UUID> sourceWorkspaceIds = workspaceIds.stream().filter(Objects::nonNull).toList();
+        panelGeometryBuffer.flushWorkspaces(sourceWorkspaceIds);
+        // sources read in one query, their panels are then fetched by batch
+        Map<UUID, WorkspaceEntity> sourceWorkspaces = workspaceRepository.findAllById(sourceWorkspaceIds)
+            .stream()
+            .collect(Collectors.toMap(WorkspaceEntity::getId, Function.identity()));
         List<WorkspaceEntity> workspaces = IntStream.range(0, workspaceIds.size())
-            .mapToObj(i -> createOrDuplicateWorkspace(workspaceIds.get(i), WORKSPACE_NAME_PREFIX + (i + 1)))
+            .mapToObj(i -> createOrDuplicateWorkspace(sourceWorkspaces.get(workspaceIds.get(i)), WORKSPACE_NAME_PREFIX + (i + 1)))
             .toList();
         WorkspacesConfigEntity config = new WorkspacesConfigEntity();
         config.setWorkspaces(workspaces);
-        return workspacesConfigRepository.save(config).getId();
+        return saveWorkspacesConfig(config);
     }
 
     @Transactional
@@ -140,6 +229,7 @@ public class WorkspacesConfigService {
         UUID nadConfigUuid = workspaceNADConfigService.saveNadConfig(nadConfigData);
         NADPanelEntity nadPanel = findNadPanel(configId, workspaceId, panelId);
         nadPanel.setCurrentNadConfigUuid(nadConfigUuid);
+        publishWorkspaceModified(configId, workspaceId);
         return nadConfigUuid;
     }
 
@@ -152,6 +242,12 @@ public class WorkspacesConfigService {
         }
         workspaceNADConfigService.deleteNadConfig(nadConfigUuid);
         nadPanel.setCurrentNadConfigUuid(null);
+        publishWorkspaceModified(configId, workspaceId);
+    }
+
+    private void publishWorkspaceModified(UUID configId, UUID workspaceId) {
+        eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.WORKSPACES_CONFIG, configId)
+                .and(InvalidatedEntity.WORKSPACE, List.of(workspaceId)));
     }
 
     private WorkspacesConfigEntity findWorkspacesConfig(UUID configId) {
@@ -160,28 +256,47 @@ public class WorkspacesConfigService {
     }
 
     private WorkspaceEntity findWorkspace(UUID configId, UUID workspaceId) {
-        WorkspacesConfigEntity config = findWorkspacesConfig(configId);
-        return config.getWorkspace(workspaceId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, WORKSPACE_NOT_FOUND + workspaceId));
+        return workspaceRepository.findWithPanelsByIdAndWorkspacesConfigId(workspaceId, configId)
+            .orElseThrow(() -> workspacesConfigRepository.existsById(configId)
+                ? new ResponseStatusException(HttpStatus.NOT_FOUND, WORKSPACE_NOT_FOUND + workspaceId)
+                : new ResponseStatusException(HttpStatus.NOT_FOUND, WORKSPACES_CONFIG_NOT_FOUND + configId));
     }
 
     private NADPanelEntity findNadPanel(UUID configId, UUID workspaceId, UUID panelId) {
         WorkspaceEntity workspace = findWorkspace(configId, workspaceId);
         PanelEntity panel = workspace.getPanel(panelId)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Panel not found: " + panelId));
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, PANEL_NOT_FOUND + panelId));
         if (!panel.isNad()) {
             throw new IllegalArgumentException("Panel is not a NAD panel: " + panelId);
         }
         return (NADPanelEntity) panel;
     }
 
-    private UUID createDefaultWorkspacesConfig() {
-        try (InputStream inputStream = defaultWorkspacesConfigResource.getInputStream()) {
-            WorkspacesConfigInfos defaultConfig = objectMapper.readValue(inputStream, WorkspacesConfigInfos.class);
-            return workspacesConfigRepository.save(new WorkspacesConfigEntity(defaultConfig)).getId();
-        } catch (IOException e) {
-            throw new UncheckedIOException("Failed to read default workspaces config", e);
+    @PostConstruct
+    void loadDefaultWorkspacesConfig() {
+        defaultWorkspacesConfig = new DefaultTemplate<>(defaultWorkspacesConfigResource, objectMapper,
+            WorkspacesConfigInfos.class, WorkspacesConfigService::validateDefaultWorkspacesConfig, reloadDefaultTemplates);
+    }
+
+    private static WorkspacesConfigInfos validateDefaultWorkspacesConfig(WorkspacesConfigInfos config) {
+        if (config.workspaces() == null || config.workspaces().isEmpty()) {
+            throw new IllegalStateException("Default workspaces config has no workspace");
         }
+        // panel dtos are mutable beans: the template is never exposed, entities copy every value they read from it
+        return new WorkspacesConfigInfos(config.id(), List.copyOf(config.workspaces()));
+    }
+
+    private UUID createDefaultWorkspacesConfig() {
+        return saveWorkspacesConfig(new WorkspacesConfigEntity(defaultWorkspacesConfig.get()));
+    }
+
+    private UUID saveWorkspacesConfig(WorkspacesConfigEntity config) {
+        // navigation histories reference the panel rows
+        WorkspacesConfigEntity saved = workspacesConfigRepository.saveAndFlush(config);
+        panelNavigationHistoryService.saveNavigationHistories(saved.getWorkspaces().stream()
+            .flatMap(workspace -> workspace.getPanels().stream())
+            .toList());
+        return saved.getId();
     }
 
     private WorkspaceEntity createEmptyWorkspace(String name) {
@@ -191,13 +306,8 @@ public class WorkspacesConfigService {
         return workspace;
     }
 
-    private WorkspaceEntity createOrDuplicateWorkspace(UUID workspaceId, String name) {
-        if (workspaceId == null) {
-            return createEmptyWorkspace(name);
-        }
-        return workspaceRepository.findById(workspaceId)
-            .map(source -> duplicateWorkspaceWithName(source, name))
-            .orElseGet(() -> createEmptyWorkspace(name));
+    private WorkspaceEntity createOrDuplicateWorkspace(WorkspaceEntity source, String name) {
+        return source != null ? duplicateWorkspaceWithName(source, name) : createEmptyWorkspace(name);
     }
 
     private WorkspaceEntity duplicateWorkspaceWithName(WorkspaceEntity source, String name) {
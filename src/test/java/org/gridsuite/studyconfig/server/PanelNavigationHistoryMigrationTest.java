@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migration of the navigation histories of the panel payloads to panel_navigation_history, which only runs on
+ * PostgreSQL: the changelog is applied up to it, legacy payloads are inserted, then the rest of the changelog is applied.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PanelNavigationHistoryMigrationTest {
+
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.yaml";
+    private static final String MIGRATION_CHANGESET_ID = "1792249200000-3";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Test
+    void testMigrationSkipsNullEntries() throws Exception {
+        try (Connection connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())) {
+            Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            Liquibase liquibase = new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database);
+            liquibase.update(countChangeSetsBefore(liquibase, MIGRATION_CHANGESET_ID), new Contexts(), new LabelExpression());
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            UUID nadPanelId = insertPanel(jdbcTemplate, "NAD", "{\"kind\": \"NAD\", \"navigationHistory\": [\"vl1\", null, \"vl2\"]}");
+            UUID sldPanelId = insertPanel(jdbcTemplate, "SLD_VOLTAGE_LEVEL", "{\"kind\": \"SLD\", \"navigationHistory\": [null]}");
+            UUID treePanelId = insertPanel(jdbcTemplate, "TREE", null);
+
+            liquibase.update(new Contexts(), new LabelExpression());
+
+            List<Map<String, Object>> history = jdbcTemplate.queryForList(
+                    "SELECT panel_id, voltage_level_id FROM panel_navigation_history ORDER BY panel_id, seq");
+            assertThat(history).containsExactly(
+                    Map.of("panel_id", nadPanelId, "voltage_level_id", "vl1"),
+                    Map.of("panel_id", nadPanelId, "voltage_level_id", "vl2"));
+            assertThat(jdbcTemplate.queryForList("SELECT id FROM panel WHERE payload -> 'navigationHistory' IS NOT NULL", UUID.class)).isEmpty();
+            assertThat(jdbcTemplate.queryForList("SELECT id FROM panel", UUID.class)).containsExactlyInAnyOrder(nadPanelId, sldPanelId, treePanelId);
+        }
+    }
+
+    private static int countChangeSetsBefore(Liquibase liquibase, String changeSetId) throws Exception {
+        List<ChangeSet> changeSets = liquibase.listUnrunChangeSets(new Contexts(), new LabelExpression());
+        for (int i = 0; i < changeSets.size(); i++) {
+            if (changeSets.get(i).getId().equals(changeSetId)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Changeset " + changeSetId + " not found");
+    }
+
+    private static UUID insertPanel(JdbcTemplate jdbcTemplate, String type, String payload) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO panel (id, is_maximized, is_minimized, is_pinned, position_x, position_y, size_height, size_width, title, type, payload)"
+                + " VALUES (?, false, false, false, 0, 0, 1, 1, 'panel', ?, CAST(? AS JSONB))", id, type, payload);
+        return id;
+    }
+}
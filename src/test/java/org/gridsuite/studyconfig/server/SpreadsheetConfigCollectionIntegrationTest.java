@@ -7,12 +7,21 @@
 package org.gridsuite.studyconfig.server;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.persistence.EntityManagerFactory;
 import org.gridsuite.studyconfig.server.constants.ColumnType;
 import org.gridsuite.studyconfig.server.constants.SheetType;
 import org.gridsuite.studyconfig.server.constants.SortDirection;
 import org.gridsuite.studyconfig.server.dto.*;
+import org.gridsuite.studyconfig.server.entities.SpreadsheetConfigCollectionEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidatedEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationBus;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationEvent;
 import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigCollectionRepository;
 import org.gridsuite.studyconfig.server.service.SpreadsheetConfigService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +34,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -45,6 +55,12 @@ class SpreadsheetConfigCollectionIntegrationTest {
     @Autowired
     private SpreadsheetConfigCollectionRepository spreadsheetConfigCollectionRepository;
 
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     void tearDown() {
         spreadsheetConfigCollectionRepository.deleteAll();
@@ -227,6 +243,68 @@ class SpreadsheetConfigCollectionIntegrationTest {
         assertThat(duplicatedCollection.id()).isNotEqualTo(collectionUuid);
     }
 
+    @Test
+    void testBinaryEncodings() throws Exception {
+        SpreadsheetConfigCollectionInfos collectionToCreate = new SpreadsheetConfigCollectionInfos(null, createSpreadsheetConfigsWithFilters(), List.of("alias1"));
+        ObjectMapper cborMapper = mapper.copyWith(new CBORFactory());
+        MvcResult mvcPostResult = mockMvc.perform(post(URI_SPREADSHEET_CONFIG_COLLECTION_BASE)
+                        .content(cborMapper.writeValueAsBytes(collectionToCreate))
+                        .contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID collectionUuid = mapper.readValue(mvcPostResult.getResponse().getContentAsString(), UUID.class);
+
+        byte[] smileContent = mockMvc.perform(get(URI_SPREADSHEET_CONFIG_COLLECTION_BASE + "/" + collectionUuid)
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        SpreadsheetConfigCollectionInfos smileCollection = mapper.copyWith(new SmileFactory())
+                .readValue(smileContent, SpreadsheetConfigCollectionInfos.class);
+
+        assertThat(smileCollection).isEqualTo(getSpreadsheetConfigCollection(collectionUuid));
+        assertThat(smileCollection)
+            .usingRecursiveComparison()
+            .ignoringFields("spreadsheetConfigs.columns.uuid", "id", "spreadsheetConfigs.id", "spreadsheetConfigs.globalFilters.uuid")
+            .ignoringExpectedNullFields()
+            .isEqualTo(collectionToCreate);
+    }
+
+    @Test
+    void testExportImportCollection() throws Exception {
+        SpreadsheetConfigCollectionInfos collectionToExport = new SpreadsheetConfigCollectionInfos(null, createSpreadsheetConfigsWithFilters(), List.of("alias1", "alias2"));
+        UUID collectionUuid = postSpreadsheetConfigCollection(collectionToExport);
+
+        for (boolean compress : List.of(true, false)) {
+            byte[] archive = mockMvc.perform(get(URI_SPREADSHEET_CONFIG_COLLECTION_BASE + "/" + collectionUuid + "/export")
+                            .queryParam("compress", String.valueOf(compress)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            MvcResult mvcPostResult = mockMvc.perform(post(URI_SPREADSHEET_CONFIG_COLLECTION_BASE + "/import")
+                            .content(archive)
+                            .contentType(MediaType.APPLICATION_OCTET_STREAM))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+            UUID importedCollectionUuid = mapper.readValue(mvcPostResult.getResponse().getContentAsString(), UUID.class);
+
+            SpreadsheetConfigCollectionInfos importedCollection = getSpreadsheetConfigCollection(importedCollectionUuid);
+            assertThat(importedCollection)
+                .usingRecursiveComparison()
+                .ignoringFields("spreadsheetConfigs.columns.uuid", "id", "spreadsheetConfigs.id", "spreadsheetConfigs.globalFilters.uuid")
+                .ignoringExpectedNullFields()
+                .isEqualTo(collectionToExport);
+            assertThat(importedCollection.id()).isNotEqualTo(collectionUuid);
+        }
+
+        mockMvc.perform(get(URI_SPREADSHEET_CONFIG_COLLECTION_BASE + "/" + UUID.randomUUID() + "/export"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post(URI_SPREADSHEET_CONFIG_COLLECTION_BASE + "/import")
+                        .content(new byte[] {'S', 'C', 'C', 'A', 1, 0, 1})
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testMergeModelsIntoNewCollection() throws Exception {
         // create a source collection to create N configs
@@ -268,6 +346,86 @@ class SpreadsheetConfigCollectionIntegrationTest {
         assertThat(defaultCollection.id()).isEqualTo(defaultCollectionUuid);
     }
 
+    @Test
+    void testCreateDefaultCollectionTwice() {
+        UUID firstCollectionUuid = spreadsheetConfigCollectionService.createDefaultSpreadsheetConfigCollection();
+        UUID secondCollectionUuid = spreadsheetConfigCollectionService.createDefaultSpreadsheetConfigCollection();
+
+        SpreadsheetConfigCollectionInfos firstCollection = spreadsheetConfigCollectionService.getSpreadsheetConfigCollection(firstCollectionUuid);
+        SpreadsheetConfigCollectionInfos secondCollection = spreadsheetConfigCollectionService.getSpreadsheetConfigCollection(secondCollectionUuid);
+        assertThat(firstCollection.spreadsheetConfigs()).hasSizeGreaterThan(10);
+        assertThat(secondCollection)
+                .usingRecursiveComparison()
+                .ignoringFields("spreadsheetConfigs.columns.uuid", "id", "spreadsheetConfigs.id")
+                .isEqualTo(firstCollection);
+    }
+
+    @Test
+    void testCreateDefaultCollectionUsesJdbcBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        UUID defaultCollectionUuid = spreadsheetConfigCollectionService.createDefaultSpreadsheetConfigCollection();
+
+        assertThat(defaultCollectionUuid).isNotNull();
+        assertThat(statistics.getEntityInsertCount()).isGreaterThan(200);
+        // rows are grouped per table into batches of 50 instead of one round trip per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(50);
+    }
+
+    @Test
+    void testReadCollectionUsesBoundedNumberOfStatements() throws Exception {
+        UUID defaultCollectionUuid = spreadsheetConfigCollectionService.createDefaultSpreadsheetConfigCollection();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        SpreadsheetConfigCollectionInfos defaultCollection = getSpreadsheetConfigCollection(defaultCollectionUuid);
+
+        assertThat(defaultCollection.spreadsheetConfigs()).hasSizeGreaterThan(10);
+        // collection with its aliases, its config rows, then one query each for columns, global filters and config aliases
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void testReadCollectionIsCachedUntilModified() throws Exception {
+        UUID collectionUuid = postSpreadsheetConfigCollection(new SpreadsheetConfigCollectionInfos(null, createSpreadsheetConfigs(), null));
+        SpreadsheetConfigCollectionInfos collection = getSpreadsheetConfigCollection(collectionUuid);
+        UUID configUuid = collection.spreadsheetConfigs().getFirst().id();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(getSpreadsheetConfigCollection(collectionUuid)).isEqualTo(collection);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // modifying one of its configs evicts the collection
+        mockMvc.perform(put("/v1/spreadsheet-configs/" + configUuid + "/name")
+                        .content("Renamed")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        assertThat(getSpreadsheetConfigCollection(collectionUuid).spreadsheetConfigs().getFirst().name()).isEqualTo("Renamed");
+
+        // so does modifying the collection itself
+        mockMvc.perform(delete(URI_SPREADSHEET_CONFIG_COLLECTION_BASE + "/" + collectionUuid + "/spreadsheet-configs/" + configUuid))
+                .andExpect(status().isNoContent());
+        assertThat(getSpreadsheetConfigCollection(collectionUuid).spreadsheetConfigs())
+                .hasSize(collection.spreadsheetConfigs().size() - 1);
+    }
+
+    @Test
+    void testReadCollectionIsEvictedByOtherReplicas() throws Exception {
+        UUID collectionUuid = postSpreadsheetConfigCollection(new SpreadsheetConfigCollectionInfos(null, createSpreadsheetConfigs(), List.of("alias")));
+        assertThat(getSpreadsheetConfigCollection(collectionUuid).nodeAliases()).containsExactly("alias");
+
+        // modification made by another replica: the local cache is not aware of it until notified through the bus
+        SpreadsheetConfigCollectionEntity entity = spreadsheetConfigCollectionRepository.findById(collectionUuid).orElseThrow();
+        entity.setNodeAliases(new ArrayList<>(List.of("modified")));
+        spreadsheetConfigCollectionRepository.save(entity);
+        assertThat(getSpreadsheetConfigCollection(collectionUuid).nodeAliases()).containsExactly("alias");
+
+        invalidationBus.publish(InvalidationEvent.of(InvalidatedEntity.SPREADSHEET_CONFIG_COLLECTION, collectionUuid));
+        assertThat(getSpreadsheetConfigCollection(collectionUuid).nodeAliases()).containsExactly("modified");
+    }
+
     @Test
     void testAddSpreadsheetConfigToCollection() throws Exception {
         SpreadsheetConfigCollectionInfos initialCollection = new SpreadsheetConfigCollectionInfos(null, createSpreadsheetConfigs(), null);
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server;
+
+import org.gridsuite.studyconfig.server.SqlStatementRecorder.Kind;
+import org.gridsuite.studyconfig.server.constants.ColumnType;
+import org.gridsuite.studyconfig.server.constants.SheetType;
+import org.gridsuite.studyconfig.server.dto.*;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigCollectionRepository;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigCopyRepository;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigRepository;
+import org.gridsuite.studyconfig.server.service.SpreadsheetConfigService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Set-based copy of spreadsheet config collections: the copied rows must be equal, column by column, to the source
+ * ones, and the number of statements must not depend on the number of configs and columns.
+ * <p>
+ * Rows are read with {@code SELECT *} and the fixture sets every copied column, so a column added to one of the tables
+ * and missing from the copy statements fails the test.
+ */
+@SpringBootTest
+@Import(SqlStatementRecorder.Config.class)
+class SpreadsheetConfigCopyRepositoryTest {
+
+    private static final int SMALL_SIZE = 1;
+    private static final int LARGE_SIZE = 5;
+
+    // identifiers, references and bookkeeping columns, not copied as such
+    private static final Map<String, Set<String>> IGNORED_COLUMNS = Map.of(
+            "spreadsheet_config", Set.of("id", "collection_id", "template_config_id", "version", "last_modified"),
+            "spreadsheet_column", Set.of("uuid", "spreadsheet_config_id", "column_entity_column_filter_id"),
+            "column_filter", Set.of("uuid"),
+            "global_filter", Set.of("id", "spreadsheet_config_id", "computation_type_filters_id"),
+            "config_node_aliases", Set.of("spreadsheet_config_entity_id"),
+            "node_aliases", Set.of("spreadsheet_config_collection_entity_id"));
+
+    // rows of each table belonging to a collection, in a deterministic order
+    private static final Map<String, String> COLLECTION_ROWS = Map.of(
+            "spreadsheet_config", "SELECT c.* FROM spreadsheet_config c WHERE c.collection_id = ? ORDER BY c.config_order",
+            "spreadsheet_column", "SELECT col.* FROM spreadsheet_column col JOIN spreadsheet_config c ON c.id = col.spreadsheet_config_id"
+                    + " WHERE c.collection_id = ? ORDER BY c.config_order, col.column_order",
+            "column_filter", "SELECT f.* FROM column_filter f JOIN spreadsheet_column col ON col.column_entity_column_filter_id = f.uuid"
+                    + " JOIN spreadsheet_config c ON c.id = col.spreadsheet_config_id WHERE c.collection_id = ? ORDER BY c.config_order, col.column_order",
+            "global_filter", "SELECT g.* FROM global_filter g JOIN spreadsheet_config c ON c.id = g.spreadsheet_config_id"
+                    + " WHERE c.collection_id = ? ORDER BY c.config_order, g.label",
+            "config_node_aliases", "SELECT a.* FROM config_node_aliases a JOIN spreadsheet_config c ON c.id = a.spreadsheet_config_entity_id"
+                    + " WHERE c.collection_id = ? ORDER BY c.config_order, a.node_aliases",
+            "node_aliases", "SELECT a.* FROM node_aliases a WHERE a.spreadsheet_config_collection_entity_id = ? ORDER BY a.node_aliases");
+
+    @Autowired
+    private SpreadsheetConfigCopyRepository spreadsheetConfigCopyRepository;
+
+    @Autowired
+    private SpreadsheetConfigService spreadsheetConfigService;
+
+    @Autowired
+    private SpreadsheetConfigRepository spreadsheetConfigRepository;
+
+    @Autowired
+    private SpreadsheetConfigCollectionRepository spreadsheetConfigCollectionRepository;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        spreadsheetConfigCollectionRepository.deleteAll();
+        spreadsheetConfigRepository.deleteAll();
+    }
+
+    @Test
+    void testCopyCollectionCopiesEveryColumn() {
+        UUID collectionId = spreadsheetConfigService.createSpreadsheetConfigCollection(createCollectionInfos(LARGE_SIZE));
+        Map<String, List<Map<String, Object>>> sourceRows = readCollectionRows(collectionId);
+
+        UUID copyId = copyCollection(collectionId);
+
+        sourceRows.forEach((table, rows) -> {
+            assertThat(rows).as("Rows of %s", table).hasSizeGreaterThanOrEqualTo(LARGE_SIZE);
+            rows.getFirst().keySet().forEach(column -> assertThat(rows)
+                    .as("The fixture must set %s.%s for the copy of that column to be checked", table, column)
+                    .anyMatch(row -> row.get(column) != null));
+        });
+        assertThat(readCollectionRows(copyId)).isEqualTo(sourceRows);
+        assertThat(copyId).isNotEqualTo(collectionId);
+    }
+
+    @Test
+    void testCopyCollectionStatementCountDoesNotDependOnSize() {
+        UUID smallCollectionId = spreadsheetConfigService.createSpreadsheetConfigCollection(createCollectionInfos(SMALL_SIZE));
+        UUID largeCollectionId = spreadsheetConfigService.createSpreadsheetConfigCollection(createCollectionInfos(LARGE_SIZE));
+
+        sqlStatementRecorder.clear();
+        copyCollection(smallCollectionId);
+        Map<Kind, Integer> smallCounts = sqlStatementRecorder.countByKind();
+        String smallStatements = sqlStatementRecorder.describe();
+        sqlStatementRecorder.clear();
+        copyCollection(largeCollectionId);
+
+        assertThat(sqlStatementRecorder.countByKind())
+                .as("Statements of the large copy:%s%nStatements of the small copy:%s", sqlStatementRecorder.describe(), smallStatements)
+                .isEqualTo(smallCounts);
+    }
+
+    private UUID copyCollection(UUID collectionId) {
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> spreadsheetConfigCopyRepository.copySpreadsheetConfigCollection(collectionId));
+    }
+
+    /**
+     * All the columns of the rows of a collection but the ignored ones, by table.
+     */
+    private Map<String, List<Map<String, Object>>> readCollectionRows(UUID collectionId) {
+        Map<String, List<Map<String, Object>>> rowsByTable = new TreeMap<>();
+        COLLECTION_ROWS.forEach((table, query) -> {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(query, collectionId);
+            // the column names returned by queryForList are case-insensitive
+            rows.forEach(row -> IGNORED_COLUMNS.get(table).forEach(row::remove));
+            rowsByTable.put(table, rows);
+        });
+        return rowsByTable;
+    }
+
+    private static SpreadsheetConfigCollectionInfos createCollectionInfos(int size) {
+        return new SpreadsheetConfigCollectionInfos(null,
+                IntStream.range(0, size).mapToObj(i -> createConfigInfos("Config " + i, size)).toList(),
+                IntStream.range(0, size).mapToObj(i -> "collectionAlias" + i).toList());
+    }
+
+    private static SpreadsheetConfigInfos createConfigInfos(String name, int size) {
+        List<SpreadsheetColumnInfos> columns = IntStream.range(0, size)
+                .mapToObj(i -> i == 0
+                        ? new SpreadsheetColumnInfos(null, "Column 0", ColumnType.NUMBER, 2, "var_p", null, "col0", true,
+                                "number", "greaterThan", "0", 0.5)
+                        : new SpreadsheetColumnInfos(null, "Column " + i, ColumnType.NUMBER, 2, "col" + (i - 1) + " + 1", "[\"col" + (i - 1) + "\"]",
+                                "col" + i, i % 2 == 0, "number", "greaterThan", String.valueOf(i), 0.5))
+                .toList();
+        List<GlobalFilterInfos> globalFilters = IntStream.range(0, size)
+                .mapToObj(i -> GlobalFilterInfos.builder()
+                        .uuid(UUID.randomUUID())
+                        .filterType("voltageLevel")
+                        .filterSubtype("nominalVoltage")
+                        .label("Filter " + i)
+                        .unselectedDate(1.5 + i)
+                        .equipmentType("GENERATOR")
+                        .path("/filters/" + i)
+                        .minValue(i)
+                        .maxValue(400)
+                        .deleted(i % 2 == 0)
+                        .build())
+                .toList();
+        return new SpreadsheetConfigInfos(null, name, SheetType.GENERATOR, columns, globalFilters,
+                IntStream.range(0, size).mapToObj(i -> "alias" + i).toList(), new SortConfig("col0", "asc"));
+    }
+}
@@ -8,26 +8,35 @@ package org.gridsuite.studyconfig.server;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.gridsuite.studyconfig.server.constants.ColumnOperationType;
 import org.gridsuite.studyconfig.server.constants.ColumnType;
 import org.gridsuite.studyconfig.server.constants.SheetType;
 import org.gridsuite.studyconfig.server.constants.SortDirection;
 import org.gridsuite.studyconfig.server.dto.*;
+import org.gridsuite.studyconfig.server.entities.SpreadsheetColumnEntity;
 import org.gridsuite.studyconfig.server.entities.SpreadsheetConfigEntity;
 import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigRepository;
 import org.gridsuite.studyconfig.server.service.SpreadsheetConfigService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -53,6 +62,12 @@ class SpreadsheetConfigIntegrationTest {
     @Autowired
     private SpreadsheetConfigRepository spreadsheetConfigRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @AfterEach
     void tearDown() {
         spreadsheetConfigRepository.deleteAll();
@@ -99,6 +114,20 @@ class SpreadsheetConfigIntegrationTest {
         assertThat(receivedConfig.id()).isEqualTo(configUuid);
     }
 
+    @Test
+    void testReadDoesNotLoadEntities() throws Exception {
+        SpreadsheetConfigInfos configToRead = new SpreadsheetConfigInfos(null, "Battery", SheetType.BUS, createColumnsWithFilters(), createGlobalFilters(), List.of("alias"), null);
+        UUID configUuid = saveAndReturnId(configToRead);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        SpreadsheetConfigInfos receivedConfig = getSpreadsheetConfig(configUuid);
+
+        assertThat(receivedConfig.columns()).hasSize(configToRead.columns().size());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
     @Test
     void testGetMetadata() throws Exception {
         SpreadsheetConfigInfos configToRead = new SpreadsheetConfigInfos(null, "Battery", SheetType.BUS, createColumnsWithFilters(), createGlobalFilters(), List.of(), null);
@@ -110,12 +139,63 @@ class SpreadsheetConfigIntegrationTest {
         assertThat(metadata).hasSize(1);
         assertThat(metadata.get(0).id()).isEqualTo(configUuid);
         assertThat(metadata.get(0).sheetType()).isEqualTo(SheetType.BUS);
+        assertThat(metadata.get(0).columnCount()).isNull();
+        assertThat(metadata.get(0).lastModified()).isNull();
+    }
+
+    @Test
+    void testGetMetadataWithAggregates() throws Exception {
+        SpreadsheetConfigInfos configToRead = new SpreadsheetConfigInfos(null, "Battery", SheetType.BUS, createColumnsWithFilters(), createGlobalFilters(), List.of("alias"), null);
+        UUID configUuid = saveAndReturnId(configToRead);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<MetadataInfos> metadata = getMetadataInfos(configUuid, true);
 
+        assertThat(metadata).hasSize(1);
+        assertThat(metadata.getFirst().columnCount()).isEqualTo((long) configToRead.columns().size());
+        assertThat(metadata.getFirst().globalFilterCount()).isEqualTo((long) configToRead.globalFilters().size());
+        assertThat(metadata.getFirst().lastModified()).isNotNull();
+        // a single query, without loading any entity nor the node aliases
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configUuid + "/name")
+                        .content("Renamed")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        assertThat(getMetadataInfos(configUuid, true).getFirst().lastModified()).isAfter(metadata.getFirst().lastModified());
+    }
+
+    @Test
+    void testRenameAndSortDoNotLoadNodeAliases() throws Exception {
+        SpreadsheetConfigInfos config = new SpreadsheetConfigInfos(null, "Battery", SheetType.BATTERY, createColumns(), List.of(), List.of("alias1", "alias2"), null);
+        UUID configUuid = saveAndReturnId(config);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configUuid + "/name")
+                        .content("Renamed")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configUuid + "/sort")
+                        .content(mapper.writeValueAsString(new SortConfig("idA", "asc")))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        assertThat(statistics.getCollectionStatistics(SpreadsheetConfigEntity.class.getName() + ".nodeAliases").getFetchCount()).isZero();
+        assertThat(getSpreadsheetConfig(configUuid).nodeAliases()).containsExactly("alias1", "alias2");
     }
 
     private List<MetadataInfos> getMetadataInfos(UUID configUuid) throws Exception {
+        return getMetadataInfos(configUuid, false);
+    }
+
+    private List<MetadataInfos> getMetadataInfos(UUID configUuid, boolean includeAggregates) throws Exception {
         MvcResult receivedMetadata = mockMvc.perform(get(URI_SPREADSHEET_CONFIG_BASE + "/metadata")
-                        .queryParam("ids", configUuid.toString()))
+                        .queryParam("ids", configUuid.toString())
+                        .queryParam("includeAggregates", String.valueOf(includeAggregates)))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -171,6 +251,40 @@ class SpreadsheetConfigIntegrationTest {
                 .isEqualTo(updatedConfig);
     }
 
+    @Test
+    void testUpdateOnlyWritesChanges() throws Exception {
+        SpreadsheetConfigInfos configToUpdate = new SpreadsheetConfigInfos(null, "Battery", SheetType.BATTERY, createColumnsWithFilters(), createGlobalFilters(), List.of("alias1"), null);
+        UUID configUuid = saveAndReturnId(configToUpdate);
+        SpreadsheetConfigInfos savedConfig = getSpreadsheetConfig(configUuid);
+
+        // change one column filter value, remove one column and rename one global filter
+        List<SpreadsheetColumnInfos> columns = new ArrayList<>(savedConfig.columns());
+        SpreadsheetColumnInfos column = columns.get(1);
+        columns.set(1, new SpreadsheetColumnInfos(column.uuid(), column.name(), column.type(), column.precision(), column.formula(),
+                column.dependencies(), column.id(), column.visible(), new ColumnFilterInfos(column.columnFilterInfos().filterDataType(),
+                column.columnFilterInfos().filterType(), "200", column.columnFilterInfos().filterTolerance())));
+        columns.remove(2);
+        List<GlobalFilterInfos> globalFilters = new ArrayList<>(savedConfig.globalFilters());
+        globalFilters.set(0, GlobalFilterInfos.builder().uuid(globalFilters.getFirst().uuid()).filterType("country").label("Renamed").build());
+        SpreadsheetConfigInfos updatedConfig = new SpreadsheetConfigInfos(configUuid, savedConfig.name(), savedConfig.sheetType(), columns,
+                globalFilters, savedConfig.nodeAliases(), null);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configUuid)
+                        .content(mapper.writeValueAsString(updatedConfig))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        // only the removed column and its filter are deleted, the other rows are kept
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(2);
+        assertThat(getSpreadsheetConfig(configUuid))
+                .usingRecursiveComparison()
+                .ignoringCollectionOrderInFields("globalFilters")
+                .isEqualTo(updatedConfig);
+    }
+
     @Test
     void testDelete() throws Exception {
         SpreadsheetConfigInfos configToDelete = new SpreadsheetConfigInfos(null, "Battery", SheetType.BATTERY, createColumnsWithFilters(), createGlobalFilters(), List.of(), null);
@@ -180,11 +294,65 @@ class SpreadsheetConfigIntegrationTest {
         mockMvc.perform(delete(URI_SPREADSHEET_CONFIG_GET_PUT + configUuid))
                 .andExpect(status().isNoContent());
 
-        List<SpreadsheetConfigInfos> storedConfigs = spreadsheetConfigService.getAllSpreadsheetConfigs();
+        List<SpreadsheetConfigInfos> storedConfigs = spreadsheetConfigService.getSpreadsheetConfigsPage(null, 10).content();
 
         assertThat(storedConfigs).isEmpty();
     }
 
+    @Test
+    void testGetSpreadsheetConfigsPages() throws Exception {
+        Set<UUID> configUuids = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            configUuids.add(saveAndReturnId(new SpreadsheetConfigInfos(null, "Battery" + i, SheetType.BATTERY, createColumns(), createGlobalFilters(), List.of(), null)));
+        }
+
+        SpreadsheetConfigPageInfos firstPage = getSpreadsheetConfigsPage(null, 2);
+        assertThat(firstPage.content()).hasSize(2);
+        assertThat(firstPage.content().getFirst().columns()).hasSize(createColumns().size());
+        assertThat(firstPage.nextAfterId()).isEqualTo(firstPage.content().getLast().id());
+
+        SpreadsheetConfigPageInfos lastPage = getSpreadsheetConfigsPage(firstPage.nextAfterId(), 2);
+        assertThat(lastPage.content()).hasSize(1);
+        assertThat(lastPage.nextAfterId()).isNull();
+        assertThat(Stream.concat(firstPage.content().stream(), lastPage.content().stream()).map(SpreadsheetConfigInfos::id))
+                .containsExactlyInAnyOrderElementsOf(configUuids);
+
+        mockMvc.perform(get(URI_SPREADSHEET_CONFIG_BASE).queryParam("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStreamSpreadsheetConfigs() throws Exception {
+        SpreadsheetConfigInfos config = new SpreadsheetConfigInfos(null, "Battery", SheetType.BATTERY, createColumnsWithFilters(), createGlobalFilters(), List.of("alias"), null);
+        Set<UUID> configUuids = Set.of(saveAndReturnId(config), saveAndReturnId(config));
+
+        MvcResult result = mockMvc.perform(get(URI_SPREADSHEET_CONFIG_BASE + "/stream"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        List<SpreadsheetConfigInfos> streamedConfigs = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            streamedConfigs.add(mapper.readValue(line, SpreadsheetConfigInfos.class));
+        }
+        assertThat(streamedConfigs).extracting(SpreadsheetConfigInfos::id).containsExactlyInAnyOrderElementsOf(configUuids);
+        assertThat(streamedConfigs.getFirst())
+                .usingRecursiveComparison()
+                .ignoringFields("columns.uuid", "id", "columns.id")
+                .isEqualTo(config);
+    }
+
+    private SpreadsheetConfigPageInfos getSpreadsheetConfigsPage(UUID afterId, int size) throws Exception {
+        var request = get(URI_SPREADSHEET_CONFIG_BASE).queryParam("size", String.valueOf(size));
+        if (afterId != null) {
+            request.queryParam("afterId", afterId.toString());
+        }
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return mapper.readValue(result.getResponse().getContentAsString(), SpreadsheetConfigPageInfos.class);
+    }
+
     @Test
     void testDeleteNonExistent() throws Exception {
         UUID nonExistentUuid = UUID.randomUUID();
@@ -333,6 +501,67 @@ class SpreadsheetConfigIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void testDeleteAndDuplicateMiddleColumnKeepPositionsDense() throws Exception {
+        SpreadsheetConfigInfos config = new SpreadsheetConfigInfos(null, "Battery", SheetType.BATTERY, createColumnsWithFilters(), null, List.of(), null);
+        UUID configId = saveAndReturnId(config);
+        List<UUID> columnIds = getSpreadsheetConfig(configId).columns().stream().map(SpreadsheetColumnInfos::uuid).toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(delete(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + columnIds.get(1)))
+                .andExpect(status().isNoContent());
+
+        // only the deleted column is loaded, its followers being shifted in the database
+        assertThat(statistics.getEntityStatistics(SpreadsheetColumnEntity.class.getName()).getLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(SpreadsheetConfigEntity.class.getName()).getLoadCount()).isZero();
+        assertThat(getColumnOrders(configId)).containsExactly(0, 1, 2);
+        assertThat(getSpreadsheetConfig(configId).columns()).extracting(SpreadsheetColumnInfos::uuid)
+                .containsExactly(columnIds.get(0), columnIds.get(2), columnIds.get(3));
+        statistics.clear();
+
+        mockMvc.perform(post(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + columnIds.get(2) + "/duplicate"))
+                .andExpect(status().isNoContent());
+
+        assertThat(statistics.getEntityStatistics(SpreadsheetColumnEntity.class.getName()).getLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(SpreadsheetConfigEntity.class.getName()).getLoadCount()).isZero();
+        assertThat(getColumnOrders(configId)).containsExactly(0, 1, 2, 3);
+        List<SpreadsheetColumnInfos> columns = getSpreadsheetConfig(configId).columns();
+        assertThat(columns).extracting(SpreadsheetColumnInfos::uuid)
+                .startsWith(columnIds.get(0), columnIds.get(2))
+                .endsWith(columnIds.get(3))
+                .doesNotHaveDuplicates();
+        assertThat(columns.get(2))
+                .usingRecursiveComparison()
+                .ignoringFields("uuid", "id", "name")
+                .isEqualTo(columns.get(1));
+        assertEquals(columns.get(1).id() + "_1", columns.get(2).id());
+    }
+
+    @Test
+    void testDeleteAndDuplicateColumnOfAnotherConfig() throws Exception {
+        UUID configId = saveAndReturnId(new SpreadsheetConfigInfos(null, "Battery", SheetType.BATTERY, createColumns(), null, List.of(), null));
+        UUID otherConfigId = saveAndReturnId(new SpreadsheetConfigInfos(null, "Generator", SheetType.GENERATOR, createColumns(), null, List.of(), null));
+        UUID otherColumnId = getSpreadsheetConfig(otherConfigId).columns().get(1).uuid();
+
+        mockMvc.perform(delete(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + otherColumnId))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + otherColumnId + "/duplicate"))
+                .andExpect(status().isNotFound());
+
+        assertThat(getSpreadsheetConfig(configId).columns()).hasSize(4).extracting(SpreadsheetColumnInfos::uuid)
+                .doesNotContain(otherColumnId);
+        assertThat(getSpreadsheetConfig(otherConfigId).columns()).hasSize(4).extracting(SpreadsheetColumnInfos::uuid)
+                .contains(otherColumnId);
+        assertThat(getColumnOrders(configId)).containsExactly(0, 1, 2, 3);
+        assertThat(getColumnOrders(otherConfigId)).containsExactly(0, 1, 2, 3);
+    }
+
+    private List<Integer> getColumnOrders(UUID configId) {
+        return jdbcTemplate.queryForList("SELECT column_order FROM spreadsheet_column WHERE spreadsheet_config_id = ? ORDER BY column_order",
+                Integer.class, configId);
+    }
+
     @Test
     void testGetColumn() throws Exception {
         SpreadsheetConfigInfos config = new SpreadsheetConfigInfos(null, "Battery", SheetType.BATTERY, createColumns(), null, List.of(), null);
@@ -379,6 +608,236 @@ class SpreadsheetConfigIntegrationTest {
         }
     }
 
+    @Test
+    void testReorderColumnsWithPartialOrder() throws Exception {
+        SpreadsheetConfigInfos config = new SpreadsheetConfigInfos(null, "ReorderTest", SheetType.BATTERY, createColumns(), null, List.of(), null);
+        UUID configId = saveAndReturnId(config);
+        List<UUID> originalColumnIds = getSpreadsheetConfig(configId).columns().stream()
+                .map(SpreadsheetColumnInfos::uuid)
+                .toList();
+        assertThat(originalColumnIds).hasSize(4);
+
+        // columns missing from the requested order keep their relative order, before the requested ones
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/reorder")
+                        .content(mapper.writeValueAsString(List.of(originalColumnIds.get(3), originalColumnIds.get(1), UUID.randomUUID())))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        assertThat(getSpreadsheetConfig(configId).columns().stream().map(SpreadsheetColumnInfos::uuid).toList())
+                .containsExactly(originalColumnIds.get(0), originalColumnIds.get(2), originalColumnIds.get(3), originalColumnIds.get(1));
+    }
+
+    @Test
+    void testApplyColumnOperations() throws Exception {
+        SpreadsheetConfigInfos config = new SpreadsheetConfigInfos(null, "Battery", SheetType.BATTERY, createColumns(), null, List.of(), null);
+        UUID configId = saveAndReturnId(config);
+        List<SpreadsheetColumnInfos> columns = getSpreadsheetConfig(configId).columns();
+        UUID columnA = columns.get(0).uuid();
+        UUID columnB = columns.get(1).uuid();
+        UUID columnC = columns.get(2).uuid();
+        UUID columnD = columns.get(3).uuid();
+
+        SpreadsheetColumnInfos newColumn = new SpreadsheetColumnInfos(null, "cust_e", ColumnType.NUMBER, 1, "cust_b * 2", "[\"cust_b\"]", "idE", true, null, null, null, null);
+        SpreadsheetColumnInfos renamedColumn = new SpreadsheetColumnInfos(columnB, "cust_b_renamed", ColumnType.NUMBER, 0, "var_minP + 1", null, "idB", true, null, null, null, null);
+        List<ColumnOperationInfos> operations = List.of(
+                new ColumnOperationInfos(ColumnOperationType.ADD, null, newColumn, 1, null),
+                new ColumnOperationInfos(ColumnOperationType.UPDATE, columnB, renamedColumn, null, null),
+                new ColumnOperationInfos(ColumnOperationType.DELETE, columnD, null, null, null),
+                new ColumnOperationInfos(ColumnOperationType.DUPLICATE, columnA, null, null, null),
+                new ColumnOperationInfos(ColumnOperationType.MOVE, columnC, null, 0, null),
+                new ColumnOperationInfos(ColumnOperationType.VISIBILITY, columnB, null, null, false)
+        );
+
+        MvcResult result = mockMvc.perform(patch(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE)
+                        .content(mapper.writeValueAsString(operations))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<UUID> resultUuids = mapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+
+        List<SpreadsheetColumnInfos> updatedColumns = getSpreadsheetConfig(configId).columns();
+        assertThat(updatedColumns.stream().map(SpreadsheetColumnInfos::id).toList())
+                .containsExactly("idC", "idA", "idA_1", "idE", "idB");
+        UUID addedColumn = updatedColumns.get(3).uuid();
+        UUID duplicatedColumn = updatedColumns.get(2).uuid();
+        assertThat(resultUuids).containsExactly(addedColumn, columnB, columnD, duplicatedColumn, columnC, columnB);
+        assertThat(updatedColumns.get(2).name()).isEqualTo("cust_a_1");
+        assertThat(updatedColumns.get(3)).usingRecursiveComparison().ignoringFields("uuid").isEqualTo(newColumn);
+        assertThat(updatedColumns.get(4)).usingRecursiveComparison().ignoringFields("visible").isEqualTo(renamedColumn);
+        assertThat(updatedColumns.get(4).visible()).isFalse();
+
+        // a failing operation rolls back the whole batch
+        List<ColumnOperationInfos> invalidOperations = List.of(
+                new ColumnOperationInfos(ColumnOperationType.DELETE, columnA, null, null, null),
+                new ColumnOperationInfos(ColumnOperationType.MOVE, columnC, null, null, null)
+        );
+        mockMvc.perform(patch(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE)
+                        .content(mapper.writeValueAsString(invalidOperations))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE)
+                        .content(mapper.writeValueAsString(List.of(new ColumnOperationInfos(ColumnOperationType.DELETE, columnD, null, null, null))))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+        assertThat(getSpreadsheetConfig(configId).columns()).isEqualTo(updatedColumns);
+    }
+
+    @Test
+    void testFormulaGraph() throws Exception {
+        List<SpreadsheetColumnInfos> columns = List.of(
+                new SpreadsheetColumnInfos(null, "col_a", ColumnType.NUMBER, 0, "b + c", "[\"b\", \"c\"]", "a", true, null, null, null, null),
+                new SpreadsheetColumnInfos(null, "col_b", ColumnType.NUMBER, 0, "var_minP + 1", null, "b", true, null, null, null, null),
+                new SpreadsheetColumnInfos(null, "col_c", ColumnType.NUMBER, 0, "b * 2", "[\"b\"]", "c", true, null, null, null, null),
+                new SpreadsheetColumnInfos(null, "col_d", ColumnType.TEXT, null, "concat(\"(\", id)", "[\"id\"]", "d", true, null, null, null, null)
+        );
+        UUID configId = postSpreadsheetConfig(new SpreadsheetConfigInfos(null, "Generators", SheetType.GENERATOR, columns, null, List.of(), null));
+
+        FormulaGraphInfos graph = getFormulaGraph(configId);
+        assertThat(graph.evaluationOrder()).containsExactly("b", "c", "a", "d");
+        assertThat(graph.dependencies()).isEqualTo(Map.of("a", List.of("b", "c"), "c", List.of("b")));
+
+        // column b can't depend on a column depending on it
+        SpreadsheetColumnInfos columnB = getSpreadsheetConfig(configId).columns().get(1);
+        SpreadsheetColumnInfos cyclicColumnB = new SpreadsheetColumnInfos(columnB.uuid(), columnB.name(), columnB.type(), columnB.precision(),
+                "a + 1", "[\"a\"]", columnB.id(), columnB.visible(), null, null, null, null);
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + columnB.uuid())
+                        .content(mapper.writeValueAsString(cyclicColumnB))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        SpreadsheetColumnInfos malformedColumn = new SpreadsheetColumnInfos(null, "col_e", ColumnType.NUMBER, 0, "(b + 1", "[\"b\"]", "e", true, null, null, null, null);
+        mockMvc.perform(post(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE)
+                        .content(mapper.writeValueAsString(malformedColumn))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        // graph recompiled when a column is removed
+        UUID columnC = getSpreadsheetConfig(configId).columns().get(2).uuid();
+        mockMvc.perform(delete(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + columnC))
+                .andExpect(status().isNoContent());
+        graph = getFormulaGraph(configId);
+        assertThat(graph.evaluationOrder()).containsExactly("b", "a", "d");
+        assertThat(graph.dependencies()).isEqualTo(Map.of("a", List.of("b")));
+    }
+
+    @Test
+    void testLegacyInvalidFormulasDoNotBlockOtherColumns() throws Exception {
+        List<SpreadsheetColumnInfos> columns = List.of(
+                new SpreadsheetColumnInfos(null, "col_a", ColumnType.NUMBER, 0, "var_minP + 1", null, "a", true, null, null, null, null),
+                new SpreadsheetColumnInfos(null, "col_b", ColumnType.NUMBER, 0, "var_maxP + 1", null, "b", true, null, null, null, null),
+                new SpreadsheetColumnInfos(null, "col_c", ColumnType.NUMBER, 0, "var_targetP", null, "c", true, null, null, null, null)
+        );
+        UUID configId = postSpreadsheetConfig(new SpreadsheetConfigInfos(null, "Generators", SheetType.GENERATOR, columns, null, List.of(), null));
+        List<SpreadsheetColumnInfos> savedColumns = getSpreadsheetConfig(configId).columns();
+        // saved before formulas were checked: a malformed formula and a column depending on itself
+        jdbcTemplate.update("UPDATE spreadsheet_column SET formula = '(var_minP + 1' WHERE uuid = ?", savedColumns.get(0).uuid());
+        jdbcTemplate.update("UPDATE spreadsheet_column SET formula = 'b + 1', dependencies = '[\"b\"]' WHERE uuid = ?", savedColumns.get(1).uuid());
+
+        SpreadsheetColumnInfos columnC = savedColumns.get(2);
+        SpreadsheetColumnInfos updatedColumnC = new SpreadsheetColumnInfos(columnC.uuid(), columnC.name(), columnC.type(), columnC.precision(),
+                "var_targetP * 2", null, columnC.id(), columnC.visible(), null, null, null, null);
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + columnC.uuid())
+                        .content(mapper.writeValueAsString(updatedColumnC))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        SpreadsheetColumnInfos newColumn = new SpreadsheetColumnInfos(null, "col_d", ColumnType.NUMBER, 0, "c + 1", "[\"c\"]", "d", true, null, null, null, null);
+        mockMvc.perform(post(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE)
+                        .content(mapper.writeValueAsString(newColumn))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+        mockMvc.perform(delete(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + columnC.uuid()))
+                .andExpect(status().isNoContent());
+        assertThat(getSpreadsheetConfig(configId).columns()).extracting(SpreadsheetColumnInfos::id).containsExactly("a", "b", "d");
+
+        // the written columns are still checked
+        SpreadsheetColumnInfos columnB = savedColumns.get(1);
+        SpreadsheetColumnInfos stillCyclicColumnB = new SpreadsheetColumnInfos(columnB.uuid(), columnB.name(), columnB.type(), columnB.precision(),
+                "b * 2", "[\"b\"]", columnB.id(), columnB.visible(), null, null, null, null);
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + columnB.uuid())
+                        .content(mapper.writeValueAsString(stillCyclicColumnB))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        SpreadsheetColumnInfos malformedDependencies = new SpreadsheetColumnInfos(null, "col_e", ColumnType.NUMBER, 0, "d + 1", "[\"d\"", "e", true, null, null, null, null);
+        mockMvc.perform(post(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE)
+                        .content(mapper.writeValueAsString(malformedDependencies))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        // once the legacy formulas are fixed, the graph is stored again
+        SpreadsheetColumnInfos columnA = savedColumns.get(0);
+        for (SpreadsheetColumnInfos fixedColumn : List.of(
+                new SpreadsheetColumnInfos(columnA.uuid(), columnA.name(), columnA.type(), columnA.precision(), "var_minP + 1", null, columnA.id(), columnA.visible(), null, null, null, null),
+                new SpreadsheetColumnInfos(columnB.uuid(), columnB.name(), columnB.type(), columnB.precision(), "a + 1", "[\"a\"]", columnB.id(), columnB.visible(), null, null, null, null))) {
+            mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/" + fixedColumn.uuid())
+                            .content(mapper.writeValueAsString(fixedColumn))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isNoContent());
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT formula_graph FROM spreadsheet_config WHERE id = ?", String.class, configId)).isNotNull();
+        assertThat(getFormulaGraph(configId).evaluationOrder()).containsExactly("a", "b", "d");
+    }
+
+    private FormulaGraphInfos getFormulaGraph(UUID configId) throws Exception {
+        MvcResult result = mockMvc.perform(get(URI_SPREADSHEET_CONFIG_GET_PUT + configId + "/formula-graph"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mapper.readValue(result.getResponse().getContentAsString(), FormulaGraphInfos.class);
+    }
+
+    @Test
+    void testConditionalRequests() throws Exception {
+        SpreadsheetConfigInfos config = new SpreadsheetConfigInfos(null, "Battery", SheetType.BATTERY, createColumns(), null, List.of(), null);
+        UUID configId = saveAndReturnId(config);
+
+        String eTag = mockMvc.perform(get(URI_SPREADSHEET_CONFIG_GET_PUT + configId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+        mockMvc.perform(get(URI_SPREADSHEET_CONFIG_GET_PUT + configId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        // a write bypassing the entity changes the version too
+        UUID columnId = getSpreadsheetConfig(configId).columns().getFirst().uuid();
+        List<ColumnStateUpdateInfos> columnStates = List.of(new ColumnStateUpdateInfos(columnId, false, 3));
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configId + URI_COLUMN_BASE + "/states")
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content(mapper.writeValueAsString(columnStates))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        String newETag = mockMvc.perform(get(URI_SPREADSHEET_CONFIG_GET_PUT + configId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newETag).isEqualTo(nextETag(eTag));
+
+        // writes based on the previous version are rejected and change nothing
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configId + "/name")
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content("Renamed")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete(URI_SPREADSHEET_CONFIG_GET_PUT + configId).header(HttpHeaders.IF_MATCH, eTag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get(URI_SPREADSHEET_CONFIG_GET_PUT + configId).header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put(URI_SPREADSHEET_CONFIG_GET_PUT + configId + "/name")
+                        .header(HttpHeaders.IF_MATCH, newETag)
+                        .content("Renamed")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        assertThat(getSpreadsheetConfig(configId).name()).isEqualTo("Renamed");
+        // a write through the entity changes the version once too
+        mockMvc.perform(get(URI_SPREADSHEET_CONFIG_GET_PUT + configId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, nextETag(newETag)));
+        mockMvc.perform(delete(URI_SPREADSHEET_CONFIG_GET_PUT + configId).header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isNoContent());
+    }
+
+    private static String nextETag(String eTag) {
+        return "\"" + (Long.parseLong(eTag.replace("\"", "")) + 1) + "\"";
+    }
+
     @Test
     void testUpdateColumnStates() throws Exception {
         // Create config with multiple columns
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server;
+
+import org.gridsuite.studyconfig.server.dto.SpreadsheetColumnInfos;
+import org.gridsuite.studyconfig.server.dto.SpreadsheetConfigCollectionInfos;
+import org.gridsuite.studyconfig.server.dto.SpreadsheetConfigInfos;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigCollectionRepository;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigTemplateRepository;
+import org.gridsuite.studyconfig.server.service.SpreadsheetConfigService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "study-config.default-templates.share-spreadsheet-collection=true")
+class SpreadsheetConfigTemplateIntegrationTest {
+
+    @Autowired
+    private SpreadsheetConfigService spreadsheetConfigService;
+
+    @Autowired
+    private SpreadsheetConfigCollectionRepository spreadsheetConfigCollectionRepository;
+
+    @Autowired
+    private SpreadsheetConfigTemplateRepository spreadsheetConfigTemplateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE spreadsheet_config SET template_config_id = NULL");
+        spreadsheetConfigTemplateRepository.deleteAll();
+        spreadsheetConfigCollectionRepository.deleteAll();
+    }
+
+    @Test
+    void testDefaultCollectionsShareTemplateColumns() {
+        UUID firstCollectionUuid = spreadsheetConfigService.createDefaultSpreadsheetConfigCollection();
+        Integer columnCount = countColumns();
+        UUID secondCollectionUuid = spreadsheetConfigService.createDefaultSpreadsheetConfigCollection();
+
+        assertThat(countColumns()).isEqualTo(columnCount);
+        assertThat(spreadsheetConfigTemplateRepository.count()).isEqualTo(1);
+
+        SpreadsheetConfigCollectionInfos firstCollection = spreadsheetConfigService.getSpreadsheetConfigCollection(firstCollectionUuid);
+        SpreadsheetConfigCollectionInfos secondCollection = spreadsheetConfigService.getSpreadsheetConfigCollection(secondCollectionUuid);
+        assertThat(firstCollection.spreadsheetConfigs()).hasSizeGreaterThan(10);
+        assertThat(firstCollection.spreadsheetConfigs().getFirst().columns()).isNotEmpty();
+        assertThat(secondCollection)
+                .usingRecursiveComparison()
+                .ignoringFields("spreadsheetConfigs.columns.uuid", "id", "spreadsheetConfigs.id")
+                .isEqualTo(firstCollection);
+        assertThat(columnUuids(secondCollection.spreadsheetConfigs().getFirst()))
+                .doesNotContainAnyElementsOf(columnUuids(firstCollection.spreadsheetConfigs().getFirst()));
+    }
+
+    @Test
+    void testConcurrentDefaultCollectionsStoreTemplateOnce() throws Exception {
+        int threads = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<UUID>> collections = IntStream.range(0, threads)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return spreadsheetConfigService.createDefaultSpreadsheetConfigCollection();
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<UUID> collection : collections) {
+                assertThat(spreadsheetConfigService.getSpreadsheetConfigCollection(collection.get()).spreadsheetConfigs()).isNotEmpty();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // the template collection and the study ones, the losing template collections being rolled back
+        assertThat(spreadsheetConfigTemplateRepository.count()).isEqualTo(1);
+        assertThat(spreadsheetConfigCollectionRepository.count()).isEqualTo(threads + 1L);
+    }
+
+    @Test
+    void testFirstColumnWriteMaterializesConfig() {
+        UUID firstCollectionUuid = spreadsheetConfigService.createDefaultSpreadsheetConfigCollection();
+        UUID secondCollectionUuid = spreadsheetConfigService.createDefaultSpreadsheetConfigCollection();
+        SpreadsheetConfigInfos config = spreadsheetConfigService.getSpreadsheetConfigCollection(firstCollectionUuid).spreadsheetConfigs().getFirst();
+        SpreadsheetColumnInfos column = config.columns().getFirst();
+        Integer columnCount = countColumns();
+
+        assertThat(spreadsheetConfigService.getColumn(config.id(), column.uuid())).isEqualTo(column);
+        spreadsheetConfigService.updateColumn(config.id(), column.uuid(), new SpreadsheetColumnInfos(column.uuid(), "renamed",
+                column.type(), column.precision(), column.formula(), column.dependencies(), column.id(), column.visible(),
+                column.columnFilterInfos()), null);
+
+        // the config got its own columns, with the uuids it exposed before
+        assertThat(countColumns()).isEqualTo(columnCount + config.columns().size());
+        SpreadsheetConfigInfos updatedConfig = spreadsheetConfigService.getSpreadsheetConfig(config.id());
+        assertThat(columnUuids(updatedConfig)).isEqualTo(columnUuids(config));
+        assertThat(updatedConfig.columns().getFirst().name()).isEqualTo("renamed");
+        assertThat(updatedConfig.columns().subList(1, config.columns().size())).isEqualTo(config.columns().subList(1, config.columns().size()));
+
+        // other collections still see the template
+        SpreadsheetConfigInfos otherConfig = spreadsheetConfigService.getSpreadsheetConfigCollection(secondCollectionUuid).spreadsheetConfigs().getFirst();
+        assertThat(otherConfig.columns().getFirst().name()).isEqualTo(column.name());
+    }
+
+    @Test
+    void testFullUpdateKeepsTemplateColumnUuids() {
+        UUID collectionUuid = spreadsheetConfigService.createDefaultSpreadsheetConfigCollection();
+        SpreadsheetConfigInfos config = spreadsheetConfigService.getSpreadsheetConfigCollection(collectionUuid).spreadsheetConfigs().getFirst();
+        Integer columnCount = countColumns();
+
+        spreadsheetConfigService.updateSpreadsheetConfig(config.id(), config, null);
+
+        // the template columns are copied once and matched by uuid, none is inserted again
+        assertThat(countColumns()).isEqualTo(columnCount + config.columns().size());
+        SpreadsheetConfigInfos updatedConfig = spreadsheetConfigService.getSpreadsheetConfig(config.id());
+        assertThat(columnUuids(updatedConfig)).isEqualTo(columnUuids(config));
+        assertThat(updatedConfig.columns()).isEqualTo(config.columns());
+    }
+
+    @Test
+    void testTemplateConfigsAreReadOnlyAndNotListed() {
+        UUID collectionUuid = spreadsheetConfigService.createDefaultSpreadsheetConfigCollection();
+        UUID templateCollectionUuid = spreadsheetConfigTemplateRepository.findAll().getFirst().getCollectionId();
+        List<UUID> templateConfigIds = configIds(spreadsheetConfigService.getSpreadsheetConfigCollection(templateCollectionUuid));
+        UUID templateConfigId = templateConfigIds.getFirst();
+        SpreadsheetConfigInfos templateConfig = spreadsheetConfigService.getSpreadsheetConfig(templateConfigId);
+
+        assertConflict(() -> spreadsheetConfigService.renameSpreadsheetConfig(templateConfigId, "renamed", null));
+        assertConflict(() -> spreadsheetConfigService.updateSpreadsheetConfig(templateConfigId, templateConfig, null));
+        assertConflict(() -> spreadsheetConfigService.deleteColumn(templateConfigId, templateConfig.columns().getFirst().uuid(), null));
+        assertConflict(() -> spreadsheetConfigService.deleteSpreadsheetConfig(templateConfigId, null));
+        assertConflict(() -> spreadsheetConfigService.deleteSpreadsheetConfigCollection(templateCollectionUuid));
+        assertConflict(() -> spreadsheetConfigService.removeSpreadsheetConfigFromCollection(templateCollectionUuid, templateConfigId));
+        assertThat(spreadsheetConfigService.getSpreadsheetConfig(templateConfigId)).isEqualTo(templateConfig);
+
+        // the configs of the study collections are listed, not the template ones
+        List<UUID> listedConfigIds = new ArrayList<>();
+        spreadsheetConfigService.streamSpreadsheetConfigs(config -> listedConfigIds.add(config.id()));
+        assertThat(listedConfigIds)
+                .containsExactlyInAnyOrderElementsOf(configIds(spreadsheetConfigService.getSpreadsheetConfigCollection(collectionUuid)))
+                .doesNotContainAnyElementsOf(templateConfigIds);
+        assertThat(configIds(spreadsheetConfigService.getSpreadsheetConfigsPage(null, 1000).content()))
+                .containsExactlyInAnyOrderElementsOf(listedConfigIds);
+    }
+
+    @Test
+    void testDuplicateSharedCollection() {
+        UUID collectionUuid = spreadsheetConfigService.createDefaultSpreadsheetConfigCollection();
+        Integer columnCount = countColumns();
+
+        UUID duplicateUuid = spreadsheetConfigService.duplicateSpreadsheetConfigCollection(collectionUuid);
+
+        assertThat(countColumns()).isEqualTo(columnCount);
+        assertThat(spreadsheetConfigService.getSpreadsheetConfigCollection(duplicateUuid))
+                .usingRecursiveComparison()
+                .ignoringFields("spreadsheetConfigs.columns.uuid", "id", "spreadsheetConfigs.id")
+                .isEqualTo(spreadsheetConfigService.getSpreadsheetConfigCollection(collectionUuid));
+    }
+
+    private Integer countColumns() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM spreadsheet_column", Integer.class);
+    }
+
+    private static void assertConflict(Runnable modification) {
+        assertThatThrownBy(modification::run)
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    private static List<UUID> configIds(SpreadsheetConfigCollectionInfos collection) {
+        return configIds(collection.spreadsheetConfigs());
+    }
+
+    private static List<UUID> configIds(List<SpreadsheetConfigInfos> configs) {
+        return configs.stream().map(SpreadsheetConfigInfos::id).toList();
+    }
+
+    private static List<UUID> columnUuids(SpreadsheetConfigInfos config) {
+        return config.columns().stream().map(SpreadsheetColumnInfos::uuid).toList();
+    }
+}
@@ -0,0 +1,653 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gridsuite.studyconfig.server.SqlStatementRecorder.Kind;
+import org.gridsuite.studyconfig.server.constants.ColumnOperationType;
+import org.gridsuite.studyconfig.server.constants.ColumnType;
+import org.gridsuite.studyconfig.server.constants.SheetType;
+import org.gridsuite.studyconfig.server.dto.*;
+import org.gridsuite.studyconfig.server.dto.workspace.*;
+import org.gridsuite.studyconfig.server.entities.workspace.PanelType;
+import org.gridsuite.studyconfig.server.entities.workspace.WorkspaceEntity;
+import org.gridsuite.studyconfig.server.entities.workspace.WorkspacesConfigEntity;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigCollectionRepository;
+import org.gridsuite.studyconfig.server.repositories.SpreadsheetConfigRepository;
+import org.gridsuite.studyconfig.server.repositories.WorkspaceRepository;
+import org.gridsuite.studyconfig.server.repositories.WorkspacesConfigRepository;
+import org.gridsuite.studyconfig.server.repositories.computationresult.FiltersRepository;
+import org.gridsuite.studyconfig.server.repositories.projections.SpreadsheetColumnRow;
+import org.gridsuite.studyconfig.server.service.ComputationResultFiltersService;
+import org.gridsuite.studyconfig.server.service.PanelNavigationHistoryService;
+import org.gridsuite.studyconfig.server.service.SingleLineDiagramService;
+import org.gridsuite.studyconfig.server.service.SpreadsheetConfigService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budgets of SQL statements of the REST endpoints. Each request is run against a small and a large data set: the
+ * number of selects must not depend on the amount of data, which catches the lazy loads row by row, and the total
+ * number of statements must stay within the budget of the endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorder.Config.class)
+class SqlStatementBudgetTest {
+
+    private static final int SMALL_SIZE = 1;
+    private static final int LARGE_SIZE = 5;
+
+    private static final String SPREADSHEET_CONFIGS_URI = "/" + StudyConfigApi.API_VERSION + "/spreadsheet-configs";
+    private static final String COLLECTIONS_URI = "/" + StudyConfigApi.API_VERSION + "/spreadsheet-config-collections";
+    private static final String WORKSPACES_CONFIGS_URI = "/" + StudyConfigApi.API_VERSION + "/workspaces-configs";
+    private static final String COMPUTATION_RESULT_FILTERS_URI = "/" + StudyConfigApi.API_VERSION + "/computation-result-filters";
+
+    private static final String COMPUTATION_TYPE = "LoadFlow";
+    private static final String COMPUTATION_SUB_TYPE = "loadFlowResults";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder;
+
+    @Autowired
+    private SpreadsheetConfigService spreadsheetConfigService;
+
+    @Autowired
+    private ComputationResultFiltersService computationResultFiltersService;
+
+    @Autowired
+    private PanelNavigationHistoryService panelNavigationHistoryService;
+
+    @Autowired
+    private SpreadsheetConfigRepository spreadsheetConfigRepository;
+
+    @Autowired
+    private SpreadsheetConfigCollectionRepository spreadsheetConfigCollectionRepository;
+
+    @Autowired
+    private WorkspacesConfigRepository workspacesConfigRepository;
+
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
+    @Autowired
+    private FiltersRepository filtersRepository;
+
+    @MockitoBean
+    private SingleLineDiagramService singleLineDiagramService;
+
+    @AfterEach
+    void tearDown() {
+        spreadsheetConfigCollectionRepository.deleteAll();
+        spreadsheetConfigRepository.deleteAll();
+        workspacesConfigRepository.deleteAll();
+        workspaceRepository.deleteAll();
+        filtersRepository.deleteAll();
+    }
+
+    // spreadsheet configs
+
+    @Test
+    void testCreateSpreadsheetConfig() throws Exception {
+        assertStatementBudget(8, this::createSpreadsheetFixture, fixture -> post(SPREADSHEET_CONFIGS_URI)
+                .content(mapper.writeValueAsString(createConfigInfos("New config", fixture.size())))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testDuplicateSpreadsheetConfig() throws Exception {
+        assertStatementBudget(10, this::createSpreadsheetFixture, fixture -> post(SPREADSHEET_CONFIGS_URI)
+                .param("duplicateFrom", fixture.configId().toString()));
+    }
+
+    @Test
+    void testGetSpreadsheetConfig() throws Exception {
+        assertStatementBudget(6, this::createSpreadsheetFixture, fixture -> get(SPREADSHEET_CONFIGS_URI + "/{id}", fixture.configId()));
+    }
+
+    @Test
+    void testGetCachedSpreadsheetConfig() throws Exception {
+        // the ETag is derived from the version cached along with the config
+        assertStatementBudget(0, this::createSpreadsheetFixture, fixture -> {
+            spreadsheetConfigService.getSpreadsheetConfig(fixture.configId());
+            return get(SPREADSHEET_CONFIGS_URI + "/{id}", fixture.configId());
+        });
+    }
+
+    @Test
+    void testGetSpreadsheetConfigsPage() throws Exception {
+        assertStatementBudget(5, this::createSpreadsheetFixture, fixture -> get(SPREADSHEET_CONFIGS_URI).param("size", "100"));
+    }
+
+    @Test
+    void testStreamSpreadsheetConfigs() throws Exception {
+        assertStatementBudget(5, this::createSpreadsheetFixture, fixture -> get(SPREADSHEET_CONFIGS_URI + "/stream"));
+    }
+
+    @Test
+    void testGetSpreadsheetConfigsMetadata() throws Exception {
+        assertStatementBudget(1, this::createSpreadsheetFixture, fixture -> get(SPREADSHEET_CONFIGS_URI + "/metadata")
+                .param("ids", fixture.configIds().stream().map(UUID::toString).toArray(String[]::new))
+                .param("includeAggregates", "true"));
+    }
+
+    @Test
+    void testUpdateSpreadsheetConfig() throws Exception {
+        assertStatementBudget(25, this::createSpreadsheetFixture, fixture -> put(SPREADSHEET_CONFIGS_URI + "/{id}", fixture.configId())
+                .content(mapper.writeValueAsString(createConfigInfos("Updated config", fixture.size())))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testUpdateSpreadsheetConfigSort() throws Exception {
+        assertStatementBudget(7, this::createSpreadsheetFixture, fixture -> put(SPREADSHEET_CONFIGS_URI + "/{id}/sort", fixture.configId())
+                .content(mapper.writeValueAsString(new SortConfig("col0", "desc")))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testRenameSpreadsheetConfig() throws Exception {
+        assertStatementBudget(7, this::createSpreadsheetFixture, fixture -> put(SPREADSHEET_CONFIGS_URI + "/{id}/name", fixture.configId())
+                .content("Renamed")
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testDeleteSpreadsheetConfig() throws Exception {
+        assertStatementBudget(20, this::createSpreadsheetFixture, fixture -> delete(SPREADSHEET_CONFIGS_URI + "/{id}", fixture.configId()));
+    }
+
+    @Test
+    void testGetColumn() throws Exception {
+        assertStatementBudget(2, this::createSpreadsheetFixture, fixture -> get(SPREADSHEET_CONFIGS_URI + "/{id}/columns/{columnId}",
+                fixture.configId(), fixture.columnUuid()));
+    }
+
+    @Test
+    void testGetFormulaGraph() throws Exception {
+        assertStatementBudget(3, this::createSpreadsheetFixture, fixture -> get(SPREADSHEET_CONFIGS_URI + "/{id}/formula-graph", fixture.configId()));
+    }
+
+    @Test
+    void testCreateColumn() throws Exception {
+        assertStatementBudget(15, this::createSpreadsheetFixture, fixture -> post(SPREADSHEET_CONFIGS_URI + "/{id}/columns", fixture.configId())
+                .content(mapper.writeValueAsString(createColumnInfos("new")))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testUpdateColumn() throws Exception {
+        assertStatementBudget(15, this::createSpreadsheetFixture, fixture -> put(SPREADSHEET_CONFIGS_URI + "/{id}/columns/{columnId}",
+                fixture.configId(), fixture.columnUuid())
+                .content(mapper.writeValueAsString(createColumnInfos("updated")))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testDeleteColumn() throws Exception {
+        assertStatementBudget(15, this::createSpreadsheetFixture, fixture -> delete(SPREADSHEET_CONFIGS_URI + "/{id}/columns/{columnId}",
+                fixture.configId(), fixture.columnUuid()));
+    }
+
+    @Test
+    void testDuplicateColumn() throws Exception {
+        assertStatementBudget(18, this::createSpreadsheetFixture, fixture -> post(SPREADSHEET_CONFIGS_URI + "/{id}/columns/{columnId}/duplicate",
+                fixture.configId(), fixture.columnUuid()));
+    }
+
+    @Test
+    void testApplyColumnOperations() throws Exception {
+        assertStatementBudget(20, this::createSpreadsheetFixture, fixture -> patch(SPREADSHEET_CONFIGS_URI + "/{id}/columns", fixture.configId())
+                .content(mapper.writeValueAsString(List.of(
+                        new ColumnOperationInfos(ColumnOperationType.ADD, null, createColumnInfos("added"), 0, null),
+                        new ColumnOperationInfos(ColumnOperationType.VISIBILITY, fixture.columnUuid(), null, null, false))))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testReorderColumns() throws Exception {
+        assertStatementBudget(12, this::createSpreadsheetFixture, fixture -> put(SPREADSHEET_CONFIGS_URI + "/{id}/columns/reorder", fixture.configId())
+                .content(mapper.writeValueAsString(fixture.columnUuids().reversed()))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testUpdateColumnStates() throws Exception {
+        assertStatementBudget(12, this::createSpreadsheetFixture, fixture -> {
+            List<UUID> columnUuids = fixture.columnUuids();
+            List<ColumnStateUpdateInfos> columnStates = IntStream.range(0, columnUuids.size())
+                    .mapToObj(i -> new ColumnStateUpdateInfos(columnUuids.get(i), false, columnUuids.size() - 1 - i))
+                    .toList();
+            return put(SPREADSHEET_CONFIGS_URI + "/{id}/columns/states", fixture.configId())
+                    .content(mapper.writeValueAsString(columnStates))
+                    .contentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    @Test
+    void testSetGlobalFiltersForSpreadsheetConfig() throws Exception {
+        assertStatementBudget(12, this::createSpreadsheetFixture, fixture -> post(SPREADSHEET_CONFIGS_URI + "/{id}/global-filters", fixture.configId())
+                .content(mapper.writeValueAsString(createGlobalFilters(fixture.size())))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testResetFilters() throws Exception {
+        assertStatementBudget(15, this::createSpreadsheetFixture, fixture -> put(SPREADSHEET_CONFIGS_URI + "/{id}/reset-filters", fixture.configId()));
+    }
+
+    // spreadsheet config collections
+
+    @Test
+    void testCreateSpreadsheetConfigCollection() throws Exception {
+        assertStatementBudget(20, this::createSpreadsheetFixture, fixture -> post(COLLECTIONS_URI)
+                .content(mapper.writeValueAsString(createCollectionInfos(fixture.size())))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testMergeSpreadsheetConfigs() throws Exception {
+        assertStatementBudget(25, this::createSpreadsheetFixture, fixture -> post(COLLECTIONS_URI + "/merge")
+                .content(mapper.writeValueAsString(fixture.configIds()))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testGetSpreadsheetConfigCollection() throws Exception {
+        assertStatementBudget(6, this::createSpreadsheetFixture, fixture -> get(COLLECTIONS_URI + "/{id}", fixture.collectionId()));
+    }
+
+    @Test
+    void testExportSpreadsheetConfigCollection() throws Exception {
+        assertStatementBudget(6, this::createSpreadsheetFixture, fixture -> get(COLLECTIONS_URI + "/{id}/export", fixture.collectionId()));
+    }
+
+    @Test
+    void testImportSpreadsheetConfigCollection() throws Exception {
+        assertStatementBudget(20, this::createSpreadsheetFixture, fixture -> {
+            ByteArrayOutputStream archive = new ByteArrayOutputStream();
+            spreadsheetConfigService.exportSpreadsheetConfigCollection(fixture.collectionId(), archive, true);
+            return post(COLLECTIONS_URI + "/import")
+                    .content(archive.toByteArray())
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM);
+        });
+    }
+
+    @Test
+    void testDeleteSpreadsheetConfigCollection() throws Exception {
+        assertStatementBudget(25, this::createSpreadsheetFixture, fixture -> delete(COLLECTIONS_URI + "/{id}", fixture.collectionId()));
+    }
+
+    @Test
+    void testUpdateSpreadsheetConfigCollection() throws Exception {
+        assertStatementBudget(30, this::createSpreadsheetFixture, fixture -> put(COLLECTIONS_URI + "/{id}", fixture.collectionId())
+                .content(mapper.writeValueAsString(createCollectionInfos(fixture.size())))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testReplaceAllSpreadsheetConfigs() throws Exception {
+        assertStatementBudget(30, this::createSpreadsheetFixture, fixture -> put(COLLECTIONS_URI + "/{id}/spreadsheet-configs/replace-all",
+                fixture.otherCollectionId())
+                .content(mapper.writeValueAsString(fixture.configIds()))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testAppendSpreadsheetConfigCollection() throws Exception {
+        assertStatementBudget(25, this::createSpreadsheetFixture, fixture -> put(COLLECTIONS_URI + "/{id}/append", fixture.collectionId())
+                .param("sourceCollection", fixture.otherCollectionId().toString()));
+    }
+
+    @Test
+    void testDuplicateSpreadsheetConfigCollection() throws Exception {
+        assertStatementBudget(12, this::createSpreadsheetFixture, fixture -> post(COLLECTIONS_URI)
+                .param("duplicateFrom", fixture.collectionId().toString()));
+    }
+
+    @Test
+    void testCreateDefaultSpreadsheetConfigCollection() throws Exception {
+        // the default collection does not depend on the fixture, its hundreds of columns are inserted by batches
+        assertStatementBudget(40, this::createSpreadsheetFixture, fixture -> post(COLLECTIONS_URI + "/default"));
+    }
+
+    @Test
+    void testAddSpreadsheetConfigToCollection() throws Exception {
+        assertStatementBudget(15, this::createSpreadsheetFixture, fixture -> post(COLLECTIONS_URI + "/{id}/spreadsheet-configs", fixture.collectionId())
+                .content(mapper.writeValueAsString(createConfigInfos("Added config", fixture.size())))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testRemoveSpreadsheetConfigFromCollection() throws Exception {
+        assertStatementBudget(20, this::createSpreadsheetFixture, fixture -> delete(COLLECTIONS_URI + "/{id}/spreadsheet-configs/{configId}",
+                fixture.collectionId(), fixture.configId()));
+    }
+
+    @Test
+    void testReorderSpreadsheetConfigs() throws Exception {
+        assertStatementBudget(8, this::createSpreadsheetFixture, fixture -> put(COLLECTIONS_URI + "/{id}/reorder", fixture.collectionId())
+                .content(mapper.writeValueAsString(fixture.configIds().reversed()))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    // workspaces configs
+
+    @Test
+    void testDuplicateWorkspacesConfig() throws Exception {
+        assertStatementBudget(30, this::createWorkspacesFixture, fixture -> post(WORKSPACES_CONFIGS_URI)
+                .param("duplicateFrom", fixture.configId().toString()));
+    }
+
+    @Test
+    void testCreateWorkspacesConfigFromWorkspaces() throws Exception {
+        assertStatementBudget(30, this::createWorkspacesFixture, fixture -> post(WORKSPACES_CONFIGS_URI)
+                .param("createFrom", fixture.workspaceIds().stream().map(UUID::toString).toArray(String[]::new)));
+    }
+
+    @Test
+    void testDeleteWorkspacesConfig() throws Exception {
+        assertStatementBudget(30, this::createWorkspacesFixture, fixture -> delete(WORKSPACES_CONFIGS_URI + "/{id}", fixture.configId()));
+    }
+
+    @Test
+    void testGetWorkspacesMetadata() throws Exception {
+        assertStatementBudget(3, this::createWorkspacesFixture, fixture -> get(WORKSPACES_CONFIGS_URI + "/{id}/workspaces", fixture.configId()));
+    }
+
+    @Test
+    void testRenameWorkspace() throws Exception {
+        assertStatementBudget(5, this::createWorkspacesFixture, fixture -> put(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/name",
+                fixture.configId(), fixture.workspaceId())
+                .content("Renamed")
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testGetWorkspace() throws Exception {
+        assertStatementBudget(8, this::createWorkspacesFixture, fixture -> get(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}",
+                fixture.configId(), fixture.workspaceId()));
+    }
+
+    @Test
+    void testGetPanels() throws Exception {
+        assertStatementBudget(8, this::createWorkspacesFixture, fixture -> get(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/panels",
+                fixture.configId(), fixture.workspaceId()));
+    }
+
+    @Test
+    void testCreateOrUpdatePanels() throws Exception {
+        assertStatementBudget(20, this::createWorkspacesFixture, fixture -> {
+            List<PanelInfos> panels = new ArrayList<>();
+            IntStream.range(0, fixture.size()).forEach(i -> panels.add(createNadPanel("New NAD " + i)));
+            return post(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/panels", fixture.configId(), fixture.workspaceId())
+                    .content(mapper.writeValueAsString(panels))
+                    .contentType(MediaType.APPLICATION_JSON);
+        });
+    }
+
+    @Test
+    void testUpdatePanelGeometries() throws Exception {
+        // the geometries are only buffered
+        assertStatementBudget(1, this::createWorkspacesFixture, fixture -> put(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/panels/geometry",
+                fixture.configId(), fixture.workspaceId())
+                .content(mapper.writeValueAsString(List.of(new PanelGeometryInfos(fixture.nadPanelId(), new PanelPositionInfos(0.1, 0.2), new PanelSizeInfos(0.3, 0.4)))))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testUpdatePanelLayout() throws Exception {
+        assertStatementBudget(1, this::createWorkspacesFixture, fixture -> patch(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/panels/{panelId}",
+                fixture.configId(), fixture.workspaceId(), fixture.nadPanelId())
+                .content(mapper.writeValueAsString(new PanelLayoutInfos(new PanelPositionInfos(0.1, 0.2), new PanelSizeInfos(0.3, 0.4), false, true, false)))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testAppendNavigationHistory() throws Exception {
+        assertStatementBudget(3, this::createWorkspacesFixture, fixture -> post(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/panels/{panelId}/navigation-history",
+                fixture.configId(), fixture.workspaceId(), fixture.nadPanelId())
+                .content("vl3")
+                .contentType(MediaType.TEXT_PLAIN));
+    }
+
+    @Test
+    void testRemoveLastNavigationHistory() throws Exception {
+        assertStatementBudget(1, this::createWorkspacesFixture, fixture -> delete(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/panels/{panelId}/navigation-history/last",
+                fixture.configId(), fixture.workspaceId(), fixture.nadPanelId()));
+    }
+
+    @Test
+    void testDeletePanels() throws Exception {
+        assertStatementBudget(20, this::createWorkspacesFixture, fixture -> delete(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/panels",
+                fixture.configId(), fixture.workspaceId()));
+    }
+
+    @Test
+    void testSaveNadConfig() throws Exception {
+        assertStatementBudget(8, this::createWorkspacesFixture, fixture -> post(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/panels/{panelId}/current-nad-config",
+                fixture.configId(), fixture.workspaceId(), fixture.nadPanelId())
+                .content("{}")
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testDeleteNadConfig() throws Exception {
+        assertStatementBudget(8, this::createWorkspacesFixture, fixture -> delete(WORKSPACES_CONFIGS_URI + "/{id}/workspaces/{workspaceId}/panels/{panelId}/current-nad-config",
+                fixture.configId(), fixture.workspaceId(), fixture.nadPanelId()));
+    }
+
+    // computation result filters
+
+    @Test
+    void testCreateDefaultComputationResultFilters() throws Exception {
+        assertStatementBudget(2, this::createComputationResultFiltersFixture, filtersId -> post(COMPUTATION_RESULT_FILTERS_URI + "/default"));
+    }
+
+    @Test
+    void testGetComputingResultGlobalFilters() throws Exception {
+        assertStatementBudget(4, this::createComputationResultFiltersFixture, filtersId -> get(COMPUTATION_RESULT_FILTERS_URI + "/{id}/{type}",
+                filtersId, COMPUTATION_TYPE));
+    }
+
+    @Test
+    void testGetComputingResultColumnFilters() throws Exception {
+        assertStatementBudget(6, this::createComputationResultFiltersFixture, filtersId -> get(COMPUTATION_RESULT_FILTERS_URI + "/{id}/{type}/{subType}",
+                filtersId, COMPUTATION_TYPE, COMPUTATION_SUB_TYPE));
+    }
+
+    @Test
+    void testSetGlobalFiltersForComputingResult() throws Exception {
+        assertStatementBudget(12, this::createComputationResultFiltersFixture, filtersId -> post(COMPUTATION_RESULT_FILTERS_URI + "/{id}/{type}/global-filters",
+                filtersId, COMPUTATION_TYPE)
+                .content(mapper.writeValueAsString(createGlobalFilters(2)))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testUpdateComputationResultColumn() throws Exception {
+        assertStatementBudget(15, this::createComputationResultFiltersFixture, filtersId -> put(COMPUTATION_RESULT_FILTERS_URI + "/{id}/{type}/{subType}/columns",
+                filtersId, COMPUTATION_TYPE, COMPUTATION_SUB_TYPE)
+                .content(mapper.writeValueAsString(new ComputationResultColumnFilterInfos("col0", new ColumnFilterInfos("number", "lessThan", "5", null))))
+                .contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @FunctionalInterface
+    private interface FixtureFactory<F> {
+        F create(int size) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory<F> {
+        RequestBuilder create(F fixture) throws Exception;
+    }
+
+    private <F> void assertStatementBudget(int budget, FixtureFactory<F> fixtureFactory, RequestFactory<F> requestFactory) throws Exception {
+        Map<Kind, Integer> smallCounts = recordStatements(fixtureFactory.create(SMALL_SIZE), requestFactory);
+        Map<Kind, Integer> largeCounts = recordStatements(fixtureFactory.create(LARGE_SIZE), requestFactory);
+        assertThat(largeCounts.get(Kind.SELECT))
+                .as("Selects depending on the amount of data (%s with the small data set):%s", smallCounts, sqlStatementRecorder.describe())
+                .isEqualTo(smallCounts.get(Kind.SELECT));
+        assertThat(sqlStatementRecorder.count())
+                .as("Statements over the budget of %d:%s", budget, sqlStatementRecorder.describe())
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private <F> Map<Kind, Integer> recordStatements(F fixture, RequestFactory<F> requestFactory) throws Exception {
+        // the request is built first, it may read the fixture
+        RequestBuilder request = requestFactory.create(fixture);
+        sqlStatementRecorder.clear();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return sqlStatementRecorder.countByKind();
+    }
+
+    private record SpreadsheetFixture(int size, UUID collectionId, UUID otherCollectionId, List<UUID> configIds, List<UUID> columnUuids) {
+        UUID configId() {
+            return configIds.getFirst();
+        }
+
+        UUID columnUuid() {
+            return columnUuids.getFirst();
+        }
+    }
+
+    /**
+     * Two collections of {@code size} configs, each with {@code size} filtered columns, global filters and node aliases.
+     */
+    private SpreadsheetFixture createSpreadsheetFixture(int size) {
+        UUID collectionId = spreadsheetConfigService.createSpreadsheetConfigCollection(createCollectionInfos(size));
+        UUID otherCollectionId = spreadsheetConfigService.createSpreadsheetConfigCollection(createCollectionInfos(size));
+        List<UUID> configIds = spreadsheetConfigRepository.findConfigIdsByCollectionId(collectionId);
+        List<UUID> columnUuids = spreadsheetConfigRepository.findColumnRowsByConfigIdIn(List.of(configIds.getFirst())).stream()
+                .map(SpreadsheetColumnRow::uuid)
+                .toList();
+        return new SpreadsheetFixture(size, collectionId, otherCollectionId, configIds, columnUuids);
+    }
+
+    private static SpreadsheetConfigCollectionInfos createCollectionInfos(int size) {
+        return new SpreadsheetConfigCollectionInfos(null,
+                IntStream.range(0, size).mapToObj(i -> createConfigInfos("Config " + i, size)).toList(),
+                IntStream.range(0, size).mapToObj(i -> "collectionAlias" + i).toList());
+    }
+
+    private static SpreadsheetConfigInfos createConfigInfos(String name, int size) {
+        List<SpreadsheetColumnInfos> columns = IntStream.range(0, size)
+                .mapToObj(i -> new SpreadsheetColumnInfos(null, "Column " + i, ColumnType.NUMBER, 2, "var_p + " + i, null, "col" + i, true,
+                        "number", "greaterThan", String.valueOf(i), 0.5))
+                .toList();
+        return new SpreadsheetConfigInfos(null, name, SheetType.GENERATOR, columns, createGlobalFilters(size),
+                IntStream.range(0, size).mapToObj(i -> "alias" + i).toList(), new SortConfig("col0", "asc"));
+    }
+
+    private static SpreadsheetColumnInfos createColumnInfos(String id) {
+        return new SpreadsheetColumnInfos(null, "Column " + id, ColumnType.TEXT, null, "var_id", null, id, true,
+                "text", "contains", "value", null);
+    }
+
+    private static List<GlobalFilterInfos> createGlobalFilters(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> GlobalFilterInfos.builder().uuid(UUID.randomUUID()).filterType("country").label("Filter " + i).build())
+                .toList();
+    }
+
+    private record WorkspacesFixture(int size, UUID configId, List<UUID> workspaceIds, UUID nadPanelId) {
+        UUID workspaceId() {
+            return workspaceIds.getFirst();
+        }
+    }
+
+    /**
+     * A config of {@code size} workspaces, each with a tree panel and {@code size} NAD panels with their SLD panel.
+     */
+    private WorkspacesFixture createWorkspacesFixture(int size) {
+        List<WorkspaceInfos> workspaces = IntStream.range(0, size)
+                .mapToObj(i -> {
+                    List<PanelInfos> panels = new ArrayList<>();
+                    panels.add(createPanel(PanelType.TREE, "Tree"));
+                    for (int j = 0; j < size; j++) {
+                        NADPanelInfos nadPanel = createNadPanel("NAD " + j);
+                        panels.add(nadPanel);
+                        panels.add(createSldPanel("SLD " + j, nadPanel.getId()));
+                    }
+                    return new WorkspaceInfos(null, "Workspace " + i, panels);
+                })
+                .toList();
+        WorkspacesConfigEntity config = workspacesConfigRepository.save(new WorkspacesConfigEntity(new WorkspacesConfigInfos(null, workspaces)));
+        // the navigation histories are stored apart from the panels
+        panelNavigationHistoryService.saveNavigationHistories(config.getWorkspaces().stream()
+                .flatMap(workspace -> workspace.getPanels().stream())
+                .toList());
+        return new WorkspacesFixture(size, config.getId(),
+                config.getWorkspaces().stream().map(WorkspaceEntity::getId).toList(),
+                workspaces.getFirst().panels().get(1).getId());
+    }
+
+    private static PanelInfos createPanel(PanelType type, String title) {
+        return initPanel(new PanelInfos(), type, title);
+    }
+
+    private static NADPanelInfos createNadPanel(String title) {
+        NADPanelInfos nadPanel = initPanel(new NADPanelInfos(), PanelType.NAD, title);
+        nadPanel.setCurrentNadConfigUuid(UUID.randomUUID());
+        nadPanel.setVoltageLevelToOmitIds(List.of("vl1"));
+        nadPanel.setInitialVoltageLevelIds(List.of("vl1", "vl2"));
+        nadPanel.setNavigationHistory(List.of("vl1", "vl2"));
+        return nadPanel;
+    }
+
+    private static SLDPanelInfos createSldPanel(String title, UUID parentNadPanelId) {
+        SLDPanelInfos sldPanel = initPanel(new SLDPanelInfos(), PanelType.SLD_VOLTAGE_LEVEL, title);
+        sldPanel.setEquipmentId("vl1");
+        sldPanel.setParentNadPanelId(parentNadPanelId);
+        sldPanel.setNavigationHistory(List.of("vl1", "vl2"));
+        return sldPanel;
+    }
+
+    private static <P extends PanelInfos> P initPanel(P panel, PanelType type, String title) {
+        panel.setId(UUID.randomUUID());
+        panel.setType(type);
+        panel.setTitle(title);
+        panel.setPosition(new PanelPositionInfos(0.0, 0.0));
+        panel.setSize(new PanelSizeInfos(0.5, 1.0));
+        return panel;
+    }
+
+    /**
+     * Computation result filters with {@code size} global filters and column filters for the tested computation.
+     */
+    private UUID createComputationResultFiltersFixture(int size) {
+        UUID filtersId = computationResultFiltersService.createDefaultComputingResultFilters();
+        computationResultFiltersService.setGlobalFiltersForComputationResult(filtersId, COMPUTATION_TYPE, createGlobalFilters(size));
+        for (int i = 0; i < size; i++) {
+            computationResultFiltersService.updateColumn(filtersId, COMPUTATION_TYPE, COMPUTATION_SUB_TYPE,
+                    new ComputationResultColumnFilterInfos("col" + i, new ColumnFilterInfos("number", "greaterThan", String.valueOf(i), null)));
+        }
+        return filtersId;
+    }
+}
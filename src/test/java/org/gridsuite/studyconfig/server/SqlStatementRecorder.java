@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Records the SQL statements sent through the application DataSource, the ones of Hibernate as well as the ones of
+ * the JDBC templates. A prepared statement is recorded once, whatever the number of rows of its batch.
+ * <p>
+ * Tests wrap the DataSource by importing {@link Config}.
+ */
+public class SqlStatementRecorder {
+
+    public enum Kind {
+        SELECT,
+        INSERT,
+        UPDATE,
+        DELETE,
+        OTHER;
+
+        static Kind of(String sql) {
+            String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (statement.startsWith("select") || statement.startsWith("with") || statement.startsWith("(")) {
+                return SELECT;
+            } else if (statement.startsWith("insert") || statement.startsWith("merge")) {
+                return INSERT;
+            } else if (statement.startsWith("update")) {
+                return UPDATE;
+            } else if (statement.startsWith("delete")) {
+                return DELETE;
+            }
+            return OTHER;
+        }
+    }
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    public void clear() {
+        statements.clear();
+    }
+
+    public List<String> getStatements() {
+        return List.copyOf(statements);
+    }
+
+    public int count() {
+        return statements.size();
+    }
+
+    public int count(Kind kind) {
+        return (int) statements.stream().filter(sql -> Kind.of(sql) == kind).count();
+    }
+
+    public Map<Kind, Integer> countByKind() {
+        Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            counts.put(kind, count(kind));
+        }
+        return counts;
+    }
+
+    /**
+     * The recorded statements, one per line, for assertion messages.
+     */
+    public String describe() {
+        return statements.stream()
+                .map(sql -> sql.strip().replaceAll("\\s+", " "))
+                .collect(Collectors.joining("\n", "\n", ""));
+    }
+
+    DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return recording(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return recording(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    /**
+     * Proxy recording the SQL given to the prepare and execute methods of a connection or of its plain statements.
+     */
+    private <T> T recording(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "prepareStatement", "prepareCall", "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch" -> {
+                    if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                        statements.add(sql);
+                    }
+                }
+                default -> {
+                    // nothing to record
+                }
+            }
+            Object result = invoke(method, target, args);
+            return method.getName().equals("createStatement") ? recording(Statement.class, (Statement) result) : result;
+        };
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        static SqlStatementRecorder sqlStatementRecorder() {
+            return new SqlStatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor sqlStatementRecordingPostProcessor(SqlStatementRecorder sqlStatementRecorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? sqlStatementRecorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -8,7 +8,6 @@ package org.gridsuite.studyconfig.server;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.gridsuite.studyconfig.server.dto.workspace.WorkspaceInfos;
-import org.gridsuite.studyconfig.server.entities.workspace.WorkspaceEntity;
 import org.gridsuite.studyconfig.server.service.SingleLineDiagramService;
 import org.gridsuite.studyconfig.server.service.WorkspaceService;
 import org.junit.jupiter.api.Test;
@@ -81,18 +80,14 @@ class WorkspaceControllerTest extends AbstractWorkspaceTestBase {
         UUID newWorkspaceId = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
         assertThat(newWorkspaceId).isNotNull().isNotEqualTo(workspaceWithPanelsId);
 
-        WorkspaceInfos newWorkspace = workspaceService.getWorkspace(newWorkspaceId)
-            .map(WorkspaceEntity::toDto)
-            .orElseThrow();
+        WorkspaceInfos newWorkspace = workspaceService.getWorkspace(newWorkspaceId).orElseThrow();
         assertThat(newWorkspace.name()).isEqualTo(WORKSPACE_WITH_PANELS);
         assertThat(newWorkspace.panels()).hasSize(2);
     }
 
     @Test
     void testDuplicateWorkspaceWithNadConfig() throws Exception {
-        WorkspaceInfos sourceWorkspace = workspaceService.getWorkspace(workspaceWithNadId)
-            .map(WorkspaceEntity::toDto)
-            .orElseThrow();
+        WorkspaceInfos sourceWorkspace = workspaceService.getWorkspace(workspaceWithNadId).orElseThrow();
         UUID originalNadConfigId = ((org.gridsuite.studyconfig.server.dto.workspace.NADPanelInfos)
             sourceWorkspace.panels().get(0)).getCurrentNadConfigUuid();
 
@@ -109,9 +104,7 @@ class WorkspaceControllerTest extends AbstractWorkspaceTestBase {
         UUID newWorkspaceId = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
         verify(singleLineDiagramService, times(1)).duplicateNadConfig(originalNadConfigId);
 
-        WorkspaceInfos newWorkspace = workspaceService.getWorkspace(newWorkspaceId)
-            .map(WorkspaceEntity::toDto)
-            .orElseThrow();
+        WorkspaceInfos newWorkspace = workspaceService.getWorkspace(newWorkspaceId).orElseThrow();
         assertThat(newWorkspace.panels()).hasSize(2);
         assertThat(((org.gridsuite.studyconfig.server.dto.workspace.NADPanelInfos) newWorkspace.panels().get(0))
             .getCurrentNadConfigUuid()).isEqualTo(duplicatedNadConfigId);
@@ -136,9 +129,7 @@ class WorkspaceControllerTest extends AbstractWorkspaceTestBase {
             )
             .andExpect(status().isNoContent());
 
-        WorkspaceInfos replacedWorkspace = workspaceService.getWorkspace(emptyWorkspaceId)
-            .map(WorkspaceEntity::toDto)
-            .orElseThrow();
+        WorkspaceInfos replacedWorkspace = workspaceService.getWorkspace(emptyWorkspaceId).orElseThrow();
         assertThat(replacedWorkspace.name()).isEqualTo(WORKSPACE_WITH_PANELS);
         assertThat(replacedWorkspace.panels()).hasSize(2);
     }
@@ -158,9 +149,7 @@ class WorkspaceControllerTest extends AbstractWorkspaceTestBase {
         verify(singleLineDiagramService, never()).deleteNadConfigs(any()); // Empty workspace has no NAD to delete
         verify(singleLineDiagramService, atLeastOnce()).duplicateNadConfig(any());
 
-        WorkspaceInfos replacedWorkspace = workspaceService.getWorkspace(emptyWorkspaceId)
-            .map(WorkspaceEntity::toDto)
-            .orElseThrow();
+        WorkspaceInfos replacedWorkspace = workspaceService.getWorkspace(emptyWorkspaceId).orElseThrow();
         assertThat(replacedWorkspace.panels()).hasSize(2);
     }
 
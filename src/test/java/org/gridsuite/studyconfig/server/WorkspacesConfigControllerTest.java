@@ -7,10 +7,16 @@
 package org.gridsuite.studyconfig.server;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
 import org.gridsuite.studyconfig.server.dto.workspace.*;
 import org.gridsuite.studyconfig.server.entities.workspace.PanelType;
+import org.gridsuite.studyconfig.server.entities.workspace.WorkspaceEntity;
+import org.gridsuite.studyconfig.server.entities.workspace.WorkspacesConfigEntity;
+import org.gridsuite.studyconfig.server.service.PanelGeometryBuffer;
 import org.gridsuite.studyconfig.server.service.SingleLineDiagramService;
 import org.gridsuite.studyconfig.server.service.WorkspacesConfigService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -20,9 +26,15 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -49,6 +61,12 @@ class WorkspacesConfigControllerTest extends AbstractWorkspaceTestBase {
     @Autowired
     private WorkspacesConfigService workspacesConfigService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PanelGeometryBuffer panelGeometryBuffer;
+
     @MockitoBean
     private SingleLineDiagramService singleLineDiagramService;
 
@@ -64,6 +82,10 @@ class WorkspacesConfigControllerTest extends AbstractWorkspaceTestBase {
         return getPanelsPath() + "/{panelId}/current-nad-config";
     }
 
+    private String getNavigationHistoryPath() {
+        return getPanelsPath() + "/{panelId}/navigation-history";
+    }
+
     @Test
     void testCreateDefaultWorkspacesConfig() throws Exception {
         MvcResult result = mockMvc.perform(post(getWorkspacesConfigBasePath()))
@@ -178,6 +200,247 @@ class WorkspacesConfigControllerTest extends AbstractWorkspaceTestBase {
         assertThat(panels.get(0).getTitle()).isEqualTo("Updated Title");
     }
 
+    @Test
+    void testPanelGeometriesAreCoalesced() throws Exception {
+        PanelInfos panel = workspacesConfigService.getPanels(configId, workspaceWithPanelsId, null).getFirst();
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(put(getPanelsPath() + "/geometry", configId, workspaceWithPanelsId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(List.of(
+                        new PanelGeometryInfos(panel.getId(), new PanelPositionInfos(i / 10.0, 0.2), new PanelSizeInfos(0.3, 0.4))))))
+                .andExpect(status().isAccepted());
+        }
+
+        // the reads see the pending geometry before it is written
+        assertThat(storedPanel(panel.getId()).getPosition()).isEqualTo(panel.getPosition());
+        PanelInfos readPanel = workspacesConfigService.getPanels(configId, workspaceWithPanelsId, Set.of(panel.getId())).getFirst();
+        assertThat(readPanel.getPosition()).isEqualTo(new PanelPositionInfos(0.3, 0.2));
+        assertThat(readPanel.getSize()).isEqualTo(new PanelSizeInfos(0.3, 0.4));
+
+        panelGeometryBuffer.flushAll();
+        PanelInfos flushedPanel = storedPanel(panel.getId());
+        assertThat(flushedPanel.getPosition()).isEqualTo(new PanelPositionInfos(0.3, 0.2));
+        assertThat(flushedPanel.getSize()).isEqualTo(new PanelSizeInfos(0.3, 0.4));
+        assertThat(flushedPanel.getTitle()).isEqualTo(panel.getTitle());
+    }
+
+    @Test
+    void testPanelUpdateOverridesPendingGeometry() throws Exception {
+        PanelInfos panel = workspacesConfigService.getPanels(configId, workspaceWithPanelsId, null).getFirst();
+        workspacesConfigService.updatePanelGeometries(configId, workspaceWithPanelsId, List.of(
+            new PanelGeometryInfos(panel.getId(), new PanelPositionInfos(0.5, 0.5), new PanelSizeInfos(0.5, 0.5))));
+
+        panel.setPosition(new PanelPositionInfos(0.7, 0.8));
+        mockMvc.perform(post(getPanelsPath(), configId, workspaceWithPanelsId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(panel))))
+            .andExpect(status().isOk());
+        panelGeometryBuffer.flushAll();
+
+        PanelInfos storedPanel = storedPanel(panel.getId());
+        assertThat(storedPanel.getPosition()).isEqualTo(new PanelPositionInfos(0.7, 0.8));
+        assertThat(storedPanel.getSize()).isEqualTo(panel.getSize());
+    }
+
+    @Test
+    void testFlushedGeometriesSurviveFailedPanelUpdate() throws Exception {
+        PanelInfos panel = workspacesConfigService.getPanels(configId, workspaceWithPanelsId, null).getFirst();
+        workspacesConfigService.updatePanelGeometries(configId, workspaceWithPanelsId, List.of(
+            new PanelGeometryInfos(panel.getId(), new PanelPositionInfos(0.5, 0.6), new PanelSizeInfos(0.5, 0.5))));
+
+        // the pending geometries of the workspace are flushed in the transaction of the update, which fails
+        mockMvc.perform(patch(getPanelsPath() + "/{panelId}", configId, workspaceWithPanelsId, UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PanelLayoutInfos(null, null, true, null, null))))
+            .andExpect(status().isNotFound());
+
+        assertThat(storedPanel(panel.getId()).getPosition()).isEqualTo(panel.getPosition());
+        assertThat(workspacesConfigService.getPanels(configId, workspaceWithPanelsId, Set.of(panel.getId())).getFirst().getPosition())
+            .isEqualTo(new PanelPositionInfos(0.5, 0.6));
+        panelGeometryBuffer.flushAll();
+        assertThat(storedPanel(panel.getId()).getPosition()).isEqualTo(new PanelPositionInfos(0.5, 0.6));
+    }
+
+    @Test
+    void testFlushWorkspacesOnlyWritesTheirGeometries() {
+        PanelInfos panel = workspacesConfigService.getPanels(configId, workspaceWithPanelsId, null).getFirst();
+        PanelInfos otherPanel = workspacesConfigService.getPanels(configId, workspaceWithNadId, null).getFirst();
+        workspacesConfigService.updatePanelGeometries(configId, workspaceWithPanelsId, List.of(
+            new PanelGeometryInfos(panel.getId(), new PanelPositionInfos(0.5, 0.6), new PanelSizeInfos(0.5, 0.5))));
+        workspacesConfigService.updatePanelGeometries(configId, workspaceWithNadId, List.of(
+            new PanelGeometryInfos(otherPanel.getId(), new PanelPositionInfos(0.1, 0.2), new PanelSizeInfos(0.5, 0.5))));
+
+        panelGeometryBuffer.flushWorkspaces(List.of(workspaceWithPanelsId));
+
+        assertThat(storedPanel(panel.getId()).getPosition()).isEqualTo(new PanelPositionInfos(0.5, 0.6));
+        assertThat(storedPanel(workspaceWithNadId, otherPanel.getId()).getPosition()).isEqualTo(otherPanel.getPosition());
+        panelGeometryBuffer.flushAll();
+        assertThat(storedPanel(workspaceWithNadId, otherPanel.getId()).getPosition()).isEqualTo(new PanelPositionInfos(0.1, 0.2));
+    }
+
+    @Test
+    void testPanelUpdateDiscardsPendingGeometry() {
+        PanelInfos panel = workspacesConfigService.getPanels(configId, workspaceWithPanelsId, null).getFirst();
+        panelGeometryBuffer.add(configId, workspaceWithPanelsId, List.of(
+            new PanelGeometryInfos(panel.getId(), new PanelPositionInfos(0.5, 0.5), new PanelSizeInfos(0.5, 0.5))));
+
+        panelGeometryBuffer.discard(workspaceWithPanelsId, List.of(panel.getId()));
+        panelGeometryBuffer.flushAll();
+
+        assertThat(storedPanel(panel.getId()).getPosition()).isEqualTo(panel.getPosition());
+    }
+
+    @Test
+    void testUpdatePanelGeometriesOfUnknownWorkspace() throws Exception {
+        mockMvc.perform(put(getPanelsPath() + "/geometry", configId, UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                    new PanelGeometryInfos(UUID.randomUUID(), new PanelPositionInfos(0.1, 0.2), new PanelSizeInfos(0.3, 0.4))))))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testUpdatePanelLayout() throws Exception {
+        NADPanelInfos nadPanel = (NADPanelInfos) workspacesConfigService.getPanels(configId, workspaceWithNadId, null).getFirst();
+
+        mockMvc.perform(patch(getPanelsPath() + "/{panelId}", configId, workspaceWithNadId, nadPanel.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PanelLayoutInfos(new PanelPositionInfos(0.2, 0.3), null, true, null, true))))
+            .andExpect(status().isNoContent());
+
+        NADPanelInfos updatedPanel = (NADPanelInfos) workspacesConfigService.getPanels(configId, workspaceWithNadId, Set.of(nadPanel.getId())).getFirst();
+        assertThat(updatedPanel.getPosition()).isEqualTo(new PanelPositionInfos(0.2, 0.3));
+        assertThat(updatedPanel.isMinimized()).isTrue();
+        assertThat(updatedPanel.isPinned()).isTrue();
+        assertThat(updatedPanel)
+            .usingRecursiveComparison()
+            .ignoringFields("position", "minimized", "pinned")
+            .isEqualTo(nadPanel);
+    }
+
+    @Test
+    void testUpdatePanelLayoutNotFound() throws Exception {
+        UUID treePanelId = workspacesConfigService.getPanels(configId, workspaceWithPanelsId, null).getFirst().getId();
+        String layout = objectMapper.writeValueAsString(new PanelLayoutInfos(null, new PanelSizeInfos(0.5, 0.5), null, null, null));
+
+        mockMvc.perform(patch(getPanelsPath() + "/{panelId}", configId, workspaceWithNadId, treePanelId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(layout))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(patch(getPanelsPath() + "/{panelId}", UUID.randomUUID(), workspaceWithPanelsId, treePanelId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(layout))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testNavigationHistory() throws Exception {
+        SLDPanelInfos sldPanel = createSldPanel("SLD with history", "vl1", null);
+        sldPanel.setNavigationHistory(List.of("vl1"));
+        workspacesConfigService.createOrUpdatePanels(configId, emptyWorkspaceId, List.of(sldPanel));
+
+        appendNavigationHistory(emptyWorkspaceId, sldPanel.getId(), "vl2");
+        appendNavigationHistory(emptyWorkspaceId, sldPanel.getId(), "vl3");
+        assertThat(navigationHistory(emptyWorkspaceId, sldPanel.getId())).containsExactly("vl1", "vl2", "vl3");
+
+        // panel updates leave the navigation history unchanged
+        sldPanel.setTitle("Updated Title");
+        sldPanel.setNavigationHistory(List.of("vl9"));
+        workspacesConfigService.createOrUpdatePanels(configId, emptyWorkspaceId, List.of(sldPanel));
+        assertThat(navigationHistory(emptyWorkspaceId, sldPanel.getId())).containsExactly("vl1", "vl2", "vl3");
+
+        mockMvc.perform(delete(getNavigationHistoryPath() + "/last", configId, emptyWorkspaceId, sldPanel.getId()))
+            .andExpect(status().isNoContent());
+        assertThat(navigationHistory(emptyWorkspaceId, sldPanel.getId())).containsExactly("vl1", "vl2");
+    }
+
+    @Test
+    void testNavigationHistoryKeepsLatestEntries() throws Exception {
+        UUID nadPanelId = workspacesConfigService.getPanels(configId, workspaceWithNadId, null).getFirst().getId();
+
+        // max length of 3 in the tests
+        for (int i = 1; i <= 5; i++) {
+            appendNavigationHistory(workspaceWithNadId, nadPanelId, "vl" + i);
+        }
+        assertThat(navigationHistory(workspaceWithNadId, nadPanelId)).containsExactly("vl3", "vl4", "vl5");
+
+        appendNavigationHistory(workspaceWithNadId, nadPanelId, "vl6");
+        assertThat(navigationHistory(workspaceWithNadId, nadPanelId)).containsExactly("vl4", "vl5", "vl6");
+
+        // duplicates copy the navigation histories
+        UUID duplicatedConfigId = workspacesConfigService.duplicateWorkspacesConfig(configId);
+        UUID duplicatedWorkspaceId = workspacesConfigService.getWorkspacesMetadata(duplicatedConfigId).get(2).id();
+        NADPanelInfos duplicatedNadPanel = (NADPanelInfos) workspacesConfigService.getPanels(duplicatedConfigId, duplicatedWorkspaceId, null).getFirst();
+        assertThat(duplicatedNadPanel.getNavigationHistory()).containsExactly("vl4", "vl5", "vl6");
+    }
+
+    @Test
+    void testConcurrentNavigationHistoryAppends() throws Exception {
+        UUID nadPanelId = workspacesConfigService.getPanels(configId, workspaceWithNadId, null).getFirst().getId();
+        // max length of 3 in the tests
+        int threads = 3;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> appends = IntStream.range(0, threads)
+                .<Future<?>>mapToObj(i -> executor.submit(() -> {
+                    start.await();
+                    workspacesConfigService.appendNavigationHistory(configId, workspaceWithNadId, nadPanelId, "vl" + i);
+                    return null;
+                }))
+                .toList();
+            start.countDown();
+            for (Future<?> append : appends) {
+                append.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(navigationHistory(workspaceWithNadId, nadPanelId)).containsExactlyInAnyOrder("vl0", "vl1", "vl2");
+    }
+
+    @Test
+    void testNavigationHistoryNotFound() throws Exception {
+        UUID treePanelId = workspacesConfigService.getPanels(configId, workspaceWithPanelsId, null).getFirst().getId();
+        UUID nadPanelId = workspacesConfigService.getPanels(configId, workspaceWithNadId, null).getFirst().getId();
+
+        mockMvc.perform(post(getNavigationHistoryPath(), configId, workspaceWithPanelsId, treePanelId)
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("vl1"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(post(getNavigationHistoryPath(), UUID.randomUUID(), workspaceWithNadId, nadPanelId)
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("vl1"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(delete(getNavigationHistoryPath() + "/last", configId, workspaceWithNadId, nadPanelId))
+            .andExpect(status().isNotFound());
+    }
+
+    private void appendNavigationHistory(UUID workspaceId, UUID panelId, String voltageLevelId) throws Exception {
+        mockMvc.perform(post(getNavigationHistoryPath(), configId, workspaceId, panelId)
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(voltageLevelId))
+            .andExpect(status().isNoContent());
+    }
+
+    private List<String> navigationHistory(UUID workspaceId, UUID panelId) {
+        return switch (workspacesConfigService.getPanels(configId, workspaceId, Set.of(panelId)).getFirst()) {
+            case NADPanelInfos nad -> nad.getNavigationHistory();
+            case SLDPanelInfos sld -> sld.getNavigationHistory();
+            default -> throw new IllegalArgumentException("Panel without navigation history: " + panelId);
+        };
+    }
+
+    private PanelInfos storedPanel(UUID panelId) {
+        return storedPanel(workspaceWithPanelsId, panelId);
+    }
+
+    private PanelInfos storedPanel(UUID workspaceId, UUID panelId) {
+        return workspaceRepository.findById(workspaceId).orElseThrow().getPanel(panelId).orElseThrow().toDto();
+    }
+
     @Test
     void testDeletePanels() throws Exception {
         List<PanelInfos> panels = workspacesConfigService.getPanels(configId, workspaceWithPanelsId, null);
@@ -238,6 +501,69 @@ class WorkspacesConfigControllerTest extends AbstractWorkspaceTestBase {
             .containsExactlyInAnyOrder(PanelType.TREE, PanelType.SPREADSHEET);
     }
 
+    @Test
+    void testGetPanelsReadsPanelPayloadsWithPanels() throws Exception {
+        List<PanelInfos> panels = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            NADPanelInfos nadPanel = createNadPanel("NAD " + i, UUID.randomUUID());
+            nadPanel.setVoltageLevelToOmitIds(List.of("vl" + i));
+            nadPanel.setInitialVoltageLevelIds(List.of("vl" + i, "vl" + (i + 1)));
+            nadPanel.setNavigationHistory(List.of("vl" + i));
+            SLDPanelInfos sldPanel = createSldPanel("SLD " + i, "vl" + i, nadPanel.getId());
+            sldPanel.setNavigationHistory(List.of("vl" + i, "vl" + (i + 1)));
+            panels.add(nadPanel);
+            panels.add(sldPanel);
+        }
+        workspacesConfigService.createOrUpdatePanels(configId, emptyWorkspaceId, panels);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(get(getPanelsPath(), configId, workspaceWithNadId))
+            .andExpect(status().isOk());
+        long statementsForOneNadPanel = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        MvcResult result = mockMvc.perform(get(getPanelsPath(), configId, emptyWorkspaceId))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        List<PanelInfos> receivedPanels = objectMapper.readValue(
+            result.getResponse().getContentAsString(),
+            objectMapper.getTypeFactory().constructCollectionType(List.class, PanelInfos.class)
+        );
+        assertThat(receivedPanels).hasSize(20);
+        NADPanelInfos lastNadPanel = (NADPanelInfos) receivedPanels.get(18);
+        assertThat(lastNadPanel.getInitialVoltageLevelIds()).containsExactly("vl9", "vl10");
+        assertThat(((SLDPanelInfos) receivedPanels.get(19)).getNavigationHistory()).containsExactly("vl9", "vl10");
+        // the type-specific values and lists of all the panels are read with the panels
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsForOneNadPanel);
+    }
+
+    @Test
+    void testPanelOperationsLoadOnlyTheirWorkspace() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        mockMvc.perform(post(getPanelsPath(), configId, workspaceWithPanelsId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(createPanel(PanelType.TREE, PANEL_1)))))
+            .andExpect(status().isOk());
+
+        assertThat(statistics.getEntityStatistics(WorkspacesConfigEntity.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(WorkspaceEntity.class.getName()).getLoadCount()).isEqualTo(1);
+        assertThat(workspacesConfigService.getPanels(configId, workspaceWithPanelsId, null)).hasSize(3);
+    }
+
+    @Test
+    void testGetPanelsOfWorkspaceOfAnotherConfigNotFound() throws Exception {
+        UUID otherConfigId = workspacesConfigRepository.save(createTestConfigEntity()).getId();
+
+        mockMvc.perform(get(getPanelsPath(), otherConfigId, workspaceWithPanelsId))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get(getPanelsPath(), UUID.randomUUID(), workspaceWithPanelsId))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     void testGetPanelsWithIds() throws Exception {
         PanelInfos panel1 = createPanel(PanelType.TREE, PANEL_1);
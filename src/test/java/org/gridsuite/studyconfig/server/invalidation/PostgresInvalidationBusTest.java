@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.invalidation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostgresInvalidationBusTest {
+
+    private final PostgresInvalidationBus sender = new PostgresInvalidationBus(null, null);
+    private final PostgresInvalidationBus receiver = new PostgresInvalidationBus(null, null);
+
+    @Test
+    void testEncodeDecode() {
+        InvalidationEvent event = InvalidationEvent.of(InvalidatedEntity.SPREADSHEET_CONFIG, List.of(UUID.randomUUID(), UUID.randomUUID()))
+                .and(InvalidatedEntity.SPREADSHEET_CONFIG_COLLECTION, List.of(UUID.randomUUID()));
+
+        List<String> payloads = sender.encode(event);
+
+        assertThat(payloads).hasSize(1);
+        assertThat(receiver.decode(payloads.getFirst())).isEqualTo(event);
+        // a replica ignores its own notifications
+        assertThat(sender.decode(payloads.getFirst())).isNull();
+    }
+
+    @Test
+    void testLargeEventsAreSplit() {
+        List<UUID> configIds = IntStream.range(0, 500).mapToObj(i -> UUID.randomUUID()).toList();
+        InvalidationEvent event = InvalidationEvent.of(InvalidatedEntity.SPREADSHEET_CONFIG, configIds)
+                .and(InvalidatedEntity.SPREADSHEET_CONFIG_COLLECTION, List.of(UUID.randomUUID()));
+
+        List<String> payloads = sender.encode(event);
+
+        assertThat(payloads).hasSizeGreaterThan(1).allMatch(payload -> payload.length() < 8000);
+        InvalidationEvent merged = InvalidationEvent.of(InvalidatedEntity.SPREADSHEET_CONFIG, List.of());
+        for (String payload : payloads) {
+            InvalidationEvent decoded = receiver.decode(payload);
+            for (InvalidatedEntity entity : decoded.ids().keySet()) {
+                merged = merged.and(entity, decoded.ids(entity));
+            }
+        }
+        assertThat(merged).isEqualTo(event);
+    }
+
+    @Test
+    void testDecodeInvalidPayload() {
+        assertThatThrownBy(() -> receiver.decode(UUID.randomUUID() + ";UNKNOWN_ENTITY:" + UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testFailingListenerDoesNotStopTheOthers() {
+        List<InvalidationEvent> received = new ArrayList<>();
+        List<String> missed = new ArrayList<>();
+        receiver.subscribe(new InvalidationListener() {
+            @Override
+            public void onInvalidation(InvalidationEvent event) {
+                throw new IllegalStateException("Failing listener");
+            }
+
+            @Override
+            public void onInvalidationsMissed() {
+                missed.add("failing");
+            }
+        });
+        receiver.subscribe(new InvalidationListener() {
+            @Override
+            public void onInvalidation(InvalidationEvent event) {
+                received.add(event);
+            }
+
+            @Override
+            public void onInvalidationsMissed() {
+                missed.add("working");
+            }
+        });
+        InvalidationEvent event = InvalidationEvent.of(InvalidatedEntity.SPREADSHEET_CONFIG, List.of(UUID.randomUUID()));
+
+        sender.encode(event).forEach(receiver::receive);
+
+        // the failing listener may have missed part of the invalidation
+        assertThat(missed).containsExactly("failing");
+        assertThat(received).containsExactly(event);
+    }
+}
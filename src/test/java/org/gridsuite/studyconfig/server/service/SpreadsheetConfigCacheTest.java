@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.studyconfig.server.service;
+
+import org.gridsuite.studyconfig.server.invalidation.InvalidatedEntity;
+import org.gridsuite.studyconfig.server.invalidation.InvalidationEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SpreadsheetConfigCacheTest {
+
+    @Autowired
+    private SpreadsheetConfigCache spreadsheetConfigCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testEvictsOncePerCommittedInvalidation() {
+        long evictions = spreadsheetConfigCache.getEvictions();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.SPREADSHEET_CONFIG, UUID.randomUUID())));
+
+        assertThat(spreadsheetConfigCache.getEvictions()).isEqualTo(evictions + 1);
+    }
+
+    @Test
+    void testDoesNotEvictOnRollback() {
+        long evictions = spreadsheetConfigCache.getEvictions();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(InvalidationEvent.of(InvalidatedEntity.SPREADSHEET_CONFIG, UUID.randomUUID()));
+            status.setRollbackOnly();
+        });
+
+        assertThat(spreadsheetConfigCache.getEvictions()).isEqualTo(evictions);
+    }
+}